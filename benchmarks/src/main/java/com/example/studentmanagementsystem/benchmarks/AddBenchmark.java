@@ -0,0 +1,58 @@
+package com.example.studentmanagementsystem.benchmarks;
+
+import com.example.studentmanagementsystem.Student;
+import com.example.studentmanagementsystem.StudentRepository;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of adds (including the uniqueness checks) at a given repository size. Each measurement
+ * is one batch of {@value #BATCH} adds starting from exactly {@code initialSize} records; the
+ * score is microseconds per batch.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 20, batchSize = AddBenchmark.BATCH)
+@Measurement(iterations = 20, batchSize = AddBenchmark.BATCH)
+@Fork(value = 1, jvmArgsAppend = { "-Xmx8g" })
+@State(Scope.Benchmark)
+public class AddBenchmark {
+    static final int BATCH = 1000;
+    private static final int WARM_ADDS = 50_000;
+
+    @Param({ "1000", "100000", "1000000" })
+    public int initialSize;
+
+    private StudentRepository repository;
+    private SplittableRandom rnd;
+    private int nextIndex;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        repository = new StudentRepository(Path.of("unused-students.txt"));
+        List<Student> students = BenchData.students(initialSize, false);
+        for (Student s : students) repository.add(s);
+        rnd = new SplittableRandom(7);
+        nextIndex = initialSize;
+        // Single-shot batches are too short to warm the add path up by themselves
+        for (int i = 0; i < WARM_ADDS; i++) add();
+        trim();
+    }
+
+    // Drops the previous batch from the end of the list (cheap, unlike delete-by-id scans),
+    // so every batch is measured at initialSize
+    @Setup(Level.Iteration)
+    public void trim() {
+        List<Student> list = repository.getStudents();
+        if (list.size() > initialSize) list.subList(initialSize, list.size()).clear();
+    }
+
+    @Benchmark
+    public boolean add() {
+        return repository.add(BenchData.student(nextIndex++, false, rnd));
+    }
+}
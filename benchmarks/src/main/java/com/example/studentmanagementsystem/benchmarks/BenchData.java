@@ -0,0 +1,56 @@
+package com.example.studentmanagementsystem.benchmarks;
+
+import com.example.studentmanagementsystem.Student;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic sample data for the benchmarks.
+ */
+final class BenchData {
+    private static final String[] FIRST = { "Alexandra", "Tanya", "Juan", "Maria", "Jose", "Andrea", "Mark", "Angela" };
+    private static final String[] LAST = { "Mendoza", "Fontanilla", "Dela Cruz", "Santos", "Reyes", "Garcia", "Bautista" };
+    private static final String[] ADDRESS = { "Tibungco Davao City", "Samal", "Toril Davao City", "Panabo", "Tagum" };
+    private static final String[] COURSE = { "BSIT 1", "BSIT 2", "BSCS 3", "BSCS 4", "BSED 2" };
+
+    private BenchData() {}
+
+    /** Unique ids, names and emails; {@code escaped} puts pipes, backslashes and newlines in text fields. */
+    static Student student(int i, boolean escaped, SplittableRandom rnd) {
+        String name = FIRST[rnd.nextInt(FIRST.length)] + " " + LAST[rnd.nextInt(LAST.length)] + " " + suffix(i);
+        String address = ADDRESS[rnd.nextInt(ADDRESS.length)];
+        if (escaped) {
+            name = name + " | \\\\ alias";
+            address = address + "\nUnit " + i + " | Bldg \\ 2\r";
+        }
+        LocalDate dob = LocalDate.of(1995 + rnd.nextInt(12), 1 + rnd.nextInt(12), 1 + rnd.nextInt(28));
+        return new Student(100_000 + i, name, 17 + rnd.nextInt(10), address,
+                COURSE[rnd.nextInt(COURSE.length)], dob, "student" + i + "@example.edu");
+    }
+
+    static List<Student> students(int count, boolean escaped) {
+        SplittableRandom rnd = new SplittableRandom(42);
+        List<Student> out = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) out.add(student(i, escaped, rnd));
+        return out;
+    }
+
+    static void writeFile(Path file, int count) throws IOException {
+        new RosterGenerator(42).write(file, count);
+    }
+
+    // Letters only: the validator rejects digits in names
+    private static String suffix(int i) {
+        StringBuilder sb = new StringBuilder();
+        do {
+            sb.append((char) ('a' + i % 26));
+            i /= 26;
+        } while (i > 0);
+        return sb.toString();
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.studentmanagementsystem.benchmarks;
+
+import com.example.studentmanagementsystem.Student;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-record encode/decode on plain and escape-heavy text.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CsvBenchmark {
+    private static final int RECORDS = 1024;
+
+    @Param({ "plain", "escaped" })
+    public String shape;
+
+    private Student[] students;
+    private String[] lines;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        List<Student> list = BenchData.students(RECORDS, "escaped".equals(shape));
+        students = list.toArray(new Student[0]);
+        lines = new String[RECORDS];
+        for (int i = 0; i < RECORDS; i++) lines[i] = students[i].toCsv();
+    }
+
+    @Benchmark
+    public Student fromCsv() {
+        next = (next + 1) & (RECORDS - 1);
+        return Student.fromCsv(lines[next]);
+    }
+
+    @Benchmark
+    public void toCsv(Blackhole bh) {
+        next = (next + 1) & (RECORDS - 1);
+        bh.consume(students[next].toCsv());
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.studentmanagementsystem.benchmarks;
+
+import com.example.studentmanagementsystem.FuzzyStudentIndex;
+import com.example.studentmanagementsystem.PersistentStudentMap;
+import com.example.studentmanagementsystem.Student;
+import com.example.studentmanagementsystem.StudentSearch;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One keystroke in fuzzy mode. {@code search} resolves the query against the index and keeps the
+ * top matches; {@code keystroke} adds what the table does with them, looking the ids up and
+ * replacing the shown rows. Target is under 20ms at 1M students; baseline.json has 0.09-0.49ms
+ * for search and 0.21-0.79ms for the whole keystroke at 1M (slowest: "alexandra mendosa").
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Xmx4g" })
+@State(Scope.Benchmark)
+public class FuzzySearchBenchmark {
+    @Param({ "10000", "1000000" })
+    public int size;
+
+    // Exact name, typo in a two-term query, transposition, broad prefix
+    @Param({ "mendoza", "alexandra mendosa", "garcai", "al" })
+    public String query;
+
+    private PersistentStudentMap snapshot;
+    private FuzzyStudentIndex index;
+    private final ObservableList<Student> rows = FXCollections.observableArrayList();
+
+    @Setup(Level.Trial)
+    public void setup() {
+        snapshot = PersistentStudentMap.of(BenchData.students(size, false));
+        index = FuzzyStudentIndex.build(snapshot);
+    }
+
+    @Benchmark
+    public int search() {
+        return StudentSearch.fuzzySearch(index, query).size();
+    }
+
+    @Benchmark
+    public int keystroke() {
+        rows.setAll(StudentSearch.rankedStudents(StudentSearch.fuzzySearch(index, query), snapshot));
+        return rows.size();
+    }
+}
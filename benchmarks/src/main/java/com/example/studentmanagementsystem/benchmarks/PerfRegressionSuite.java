@@ -0,0 +1,293 @@
+package com.example.studentmanagementsystem.benchmarks;
+
+import com.example.studentmanagementsystem.SMSApplication;
+import com.example.studentmanagementsystem.Student;
+import com.example.studentmanagementsystem.StudentManagementController;
+import com.example.studentmanagementsystem.StudentRepository;
+import javafx.application.Platform;
+import javafx.fxml.FXMLLoader;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+import javafx.scene.control.TextField;
+
+import com.sun.management.ThreadMXBean;
+
+import java.io.BufferedWriter;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Headless end-to-end performance regression run over the real controller flows: load,
+ * search typing, sort, fast scrolling, add/edit/delete, auto-save and auto-reload, plus retained
+ * heap per student.
+ * Runs under the Monocle headless platform and exits non-zero when any budget is exceeded.
+ * <p>
+ * Roster size: {@code -Dsms.rows} (default 100000). Budgets are milliseconds at 100k rows and
+ * scale linearly with the roster for O(n) flows; override any of them with
+ * {@code -Dsms.budget.<name>=<ms>} (names are printed in the report).
+ * <p>
+ * The default budgets are about twice a baseline of three runs at 100k rows on a 1-CPU Linux VM
+ * (JDK 21, Monocle headless, October 2026); the measured range is noted beside each budget.
+ * No window is ever shown. The layout and scroll figures need native text layout (pango on
+ * Linux), which that VM lacks, so they have no baseline and no default budget: they are reported
+ * when they can be measured and checked only when a budget is given (e.g.
+ * {@code -Dsms.budget.scroll.frame.max=16 -Dsms.budget.scroll.bytesPerFrame=131072}).
+ */
+public class PerfRegressionSuite {
+    private static final int BASE_ROWS = 100_000;
+
+    private final int rows;
+    private final List<String> report = new ArrayList<>();
+    private final List<String> failures = new ArrayList<>();
+
+    public PerfRegressionSuite(int rows) {
+        this.rows = rows;
+    }
+
+    public static void main(String[] args) throws Exception {
+        System.getProperties().putIfAbsent("glass.platform", "Monocle");
+        System.getProperties().putIfAbsent("monocle.platform", "Headless");
+        System.getProperties().putIfAbsent("prism.order", "sw");
+        System.getProperties().putIfAbsent("prism.text", "t2k");
+        int rows = Integer.getInteger("sms.rows", BASE_ROWS);
+        boolean ok = new PerfRegressionSuite(rows).run();
+        System.exit(ok ? 0 : 1);
+    }
+
+    public boolean run() throws Exception {
+        Path dir = Files.createTempDirectory("sms-regression");
+        Path file = dir.resolve("students.txt");
+        new RosterGenerator(42).duplicateRatio(0.01).escapeRatio(0.02).invalidRatio(0.001).write(file, rows);
+
+        CountDownLatch started = new CountDownLatch(1);
+        Platform.startup(started::countDown);
+        started.await();
+        Platform.setImplicitExit(false);
+        try {
+            runFlows(file);
+        } finally {
+            Platform.exit();
+        }
+
+        System.out.println("Performance regression run, " + rows + " rows");
+        report.forEach(System.out::println);
+        if (!failures.isEmpty()) {
+            System.out.println("FAILED budgets:");
+            failures.forEach(f -> System.out.println("  " + f));
+        }
+        return failures.isEmpty();
+    }
+
+    private void runFlows(Path file) throws Exception {
+        StudentRepository repository = new StudentRepository(file);
+
+        // Load: background read, then publish on the FX thread
+        long start = System.nanoTime();
+        StudentRepository.LoadResult data = repository.readFile();
+        check("load.read", millis(System.nanoTime() - start), scaled(3500)); // baseline 1562-1842 ms
+        check("load.apply", millis(onFx(() -> repository.apply(data))), scaled(150)); // baseline 52-69 ms
+
+        FXMLLoader loader = new FXMLLoader(SMSApplication.class.getResource("student-management-view.fxml"));
+        Parent root = loader.load();
+        StudentManagementController controller = loader.getController();
+        Map<String, Object> ns = loader.getNamespace();
+        // No window is shown, like the headless tests: the scene is laid out directly. Skins need
+        // native text layout (pango on Linux); without it the layout and scroll flows are skipped
+        // and the model-level flows below still run
+        check("view.open", millis(onFx(() -> {
+            new Scene(root, 900, 520);
+            controller.setRepository(repository);
+            controller.activate();
+        })), scaled(450)); // baseline 179-219 ms
+        boolean laidOut = layout("view.layout", root);
+
+        // Search typing: each keystroke re-filters synchronously on the FX thread
+        TextField searchField = (TextField) ns.get("searchField");
+        String query = "mendoza";
+        long worst = 0;
+        for (int i = 1; i <= query.length(); i++) {
+            String prefix = query.substring(0, i);
+            worst = Math.max(worst, onFx(() -> searchField.setText(prefix)));
+        }
+        check("search.keystroke.max", millis(worst), scaled(450)); // baseline 202-227 ms
+        onFx(searchField::clear);
+
+        @SuppressWarnings("unchecked")
+        TableView<Student> table = (TableView<Student>) ns.get("table");
+        @SuppressWarnings("unchecked")
+        TableColumn<Student, ?> nameCol = (TableColumn<Student, ?>) ns.get("fullNameCol");
+        check("sort.byName", millis(onFx(() -> table.getSortOrder().setAll(nameCol))), scaled(2000)); // baseline 877-1491 ms
+        onFx(() -> table.getSortOrder().clear());
+
+        // Fast scrolling: jump a screenful per frame. The cells render cached text, so the target is
+        // a 60fps frame (16 ms) and little allocation beyond the toolkit's layout work (128 KiB), but
+        // neither has a recorded baseline yet: reported only, gated when a budget is passed
+        if (laidOut) {
+            long[] scroll = callFx(() -> scrollFrames(table, 300));
+            observe("scroll.frame.max", millis(scroll[0]), "ms");
+            observe("scroll.bytesPerFrame", scroll[1], "bytes");
+        } else {
+            skipped("scroll.frame.max");
+            skipped("scroll.bytesPerFrame");
+        }
+
+        // Mutations (the dialogs are modal, so drive the repository the controller uses)
+        int newId = Integer.MAX_VALUE - 10;
+        Student added = new Student(newId, "Regression Probe", 21, "Samal", "BSIT 2", LocalDate.of(2004, 5, 6), "probe@example.edu");
+        check("edit.add", millis(onFx(() -> repository.add(added))), 50); // baseline 4-24 ms
+        Student edited = new Student(newId, "Regression Probe Edited", 22, "Samal", "BSIT 3", LocalDate.of(2004, 5, 6), "probe@example.edu");
+        check("edit.update", millis(onFx(() -> repository.update(newId, edited))), 120); // baseline 32-67 ms
+        check("edit.delete", millis(onFx(() -> repository.delete(newId))), scaled(80)); // baseline 27-38 ms
+
+        // Auto-save: debounced 1s after the last mutation
+        long before = Files.getLastModifiedTime(file).toMillis();
+        long mutatedAt = System.nanoTime();
+        long saveLatency = waitFor(() -> modifiedAfter(file, before), 10_000, mutatedAt);
+        check("autosave.latency", saveLatency, 1000 + scaled(700)); // baseline 1309-1341 ms
+
+        // Auto-reload: another workstation publishes an add through the shared journal;
+        // the poll must apply it.
+        Thread.sleep(1000);
+        int sizeBefore = callFx(() -> repository.getStudents().size());
+        Path journal = file.resolveSibling(file.getFileName() + ".journal");
+        Student external = new Student(newId - 1, "External Writer", 30, "Panabo", "BSCS 1", null, "external@example.edu");
+        try (BufferedWriter bw = Files.newBufferedWriter(journal, StandardCharsets.UTF_8, StandardOpenOption.APPEND)) {
+            bw.write("peer0001|ADD|" + external.getIdNumber() + "|1|" + external.toCsv());
+            bw.write('\n');
+        }
+        long reloadStart = System.nanoTime();
+        long reloadLatency = waitFor(() -> {
+            try {
+                return callFx(() -> repository.getStudents().size()) > sizeBefore;
+            } catch (Exception e) {
+                return false;
+            }
+        }, 15_000, reloadStart);
+        // Bounded by the 3s poll interval rather than by the work
+        check("autoreload.latency", reloadLatency, 3000 + scaled(500)); // baseline 196-918 ms
+
+        // Retained heap per loaded student, with everything above still reachable
+        System.gc();
+        Runtime rt = Runtime.getRuntime();
+        long used = rt.totalMemory() - rt.freeMemory();
+        int size = callFx(() -> repository.getStudents().size());
+        long perStudent = size == 0 ? 0 : used / size;
+        check("heap.bytesPerStudent", perStudent, 2000, "bytes"); // baseline 1011-1026 bytes
+    }
+
+    // Applies CSS and lays the scene out; false (and reported) when the platform cannot lay out text
+    private boolean layout(String name, Parent root) throws Exception {
+        try {
+            observe(name, millis(onFx(() -> {
+                root.applyCss();
+                root.layout();
+            })), "ms");
+            return true;
+        } catch (ExecutionException e) {
+            if (!(e.getCause() instanceof LinkageError)) throw e;
+            report.add(String.format("  %-24s %8s    (skipped: no text layout, %s)", name, "-", e.getCause().getMessage()));
+            return false;
+        }
+    }
+
+    private void skipped(String name) {
+        report.add(String.format("  %-24s %8s    (skipped: needs layout)", name, "-"));
+    }
+
+    private long scaled(long millisAtBase) {
+        return Math.max(1, millisAtBase * rows / BASE_ROWS);
+    }
+
+    private void check(String name, long value, long defaultBudget) {
+        check(name, value, defaultBudget, "ms");
+    }
+
+    private void check(String name, long value, long defaultBudget, String unit) {
+        long budget = Long.getLong("sms.budget." + name, defaultBudget);
+        String line = String.format("  %-24s %8d %s (budget %d)", name, value, unit, budget);
+        report.add(line);
+        if (value > budget) failures.add(line.trim());
+    }
+
+    // A figure without a default budget; fails only against an explicit -Dsms.budget.<name>
+    private void observe(String name, long value, String unit) {
+        Long budget = Long.getLong("sms.budget." + name);
+        if (budget != null) {
+            check(name, value, budget, unit);
+        } else {
+            report.add(String.format("  %-24s %8d %s (not gated)", name, value, unit));
+        }
+    }
+
+    private static boolean modifiedAfter(Path file, long millis) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis() > millis;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    /** Polls until the condition holds; returns elapsed millis since {@code startNanos}, or the timeout. */
+    private static long waitFor(BooleanSupplier condition, long timeoutMillis, long startNanos) throws InterruptedException {
+        long deadline = startNanos + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) return timeoutMillis;
+            Thread.sleep(10);
+        }
+        return millis(System.nanoTime() - startNanos);
+    }
+
+    /** Returns {worst frame nanos, average bytes allocated per frame}; must run on the FX thread. */
+    private static long[] scrollFrames(TableView<Student> table, int frames) {
+        ThreadMXBean mx = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        int size = table.getItems().size();
+        int step = 25;
+        // First pass creates the visible cells; measure re-use only
+        table.scrollTo(0);
+        table.layout();
+        long worst = 0;
+        long allocated = mx.getCurrentThreadAllocatedBytes();
+        for (int i = 1; i <= frames; i++) {
+            long start = System.nanoTime();
+            table.scrollTo(size == 0 ? 0 : (i * step) % size);
+            table.layout();
+            worst = Math.max(worst, System.nanoTime() - start);
+        }
+        allocated = mx.getCurrentThreadAllocatedBytes() - allocated;
+        return new long[] { worst, allocated / frames };
+    }
+
+    /** Runs on the FX thread and returns the nanoseconds the FX thread spent on it. */
+    private static long onFx(Runnable r) throws Exception {
+        return callFx(() -> {
+            long s = System.nanoTime();
+            r.run();
+            return System.nanoTime() - s;
+        });
+    }
+
+    private static <T> T callFx(Callable<T> c) throws Exception {
+        FutureTask<T> task = new FutureTask<>(c);
+        Platform.runLater(task);
+        return task.get(60, TimeUnit.SECONDS);
+    }
+
+    private static long millis(long nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.studentmanagementsystem.benchmarks;
+
+import com.example.studentmanagementsystem.StudentRepository;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full-file load and save. The 10M case needs a 16 GB heap, hence the fork arguments; it is not
+ * part of results/baseline.json, which was recorded on a 5 GB machine. Run it on its own with
+ * {@code -p rows=10000000} where the memory is available.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = { "-Xms2g", "-Xmx16g" })
+@State(Scope.Benchmark)
+public class RepositoryIoBenchmark {
+    @Param({ "10000", "1000000", "10000000" })
+    public int rows;
+
+    private Path dir;
+    private StudentRepository loadRepo;
+    private StudentRepository saveRepo;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        dir = Files.createTempDirectory("sms-bench");
+        Path source = dir.resolve("students.txt");
+        BenchData.writeFile(source, rows);
+        loadRepo = new StudentRepository(source);
+        saveRepo = new StudentRepository(dir.resolve("students-out.txt"));
+        saveRepo.apply(new StudentRepository(source).readFile());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (var files = Files.list(dir)) {
+            for (Path p : (Iterable<Path>) files::iterator) Files.deleteIfExists(p);
+        }
+        Files.deleteIfExists(dir);
+    }
+
+    @Benchmark
+    public int load() throws IOException {
+        loadRepo.load();
+        return loadRepo.getStudents().size();
+    }
+
+    @Benchmark
+    public void save() throws IOException {
+        saveRepo.save();
+    }
+}
@@ -0,0 +1,192 @@
+package com.example.studentmanagementsystem.benchmarks;
+
+import com.example.studentmanagementsystem.Student;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+/**
+ * Seeded generator for realistic student rosters in the pipe format or the legacy 7-line format.
+ * Records are streamed to disk, so 50M-row files need no more memory than 1k-row ones.
+ * <p>
+ * Ratios control how many emitted rows are duplicates of a recent record (same name/email,
+ * new id; dropped on load), carry characters that need escaping, or are invalid (unparseable
+ * id, missing fields, bad date). The same seed and options always produce the same file.
+ * <pre>
+ * java -cp benchmarks.jar com.example.studentmanagementsystem.benchmarks.RosterGenerator \
+ *     --count 1000000 --seed 42 --format pipe --dup 0.01 --escape 0.05 --invalid 0.001 --out students.txt
+ * </pre>
+ */
+public class RosterGenerator {
+    public enum Format { PIPE, LEGACY }
+
+    private static final String[] FIRST = {
+            "Alexandra", "Tanya", "Juan", "Maria", "Jose", "Andrea", "Mark", "Angela", "Paolo", "Kristine",
+            "Miguel", "Patricia", "Carlo", "Camille", "Rafael", "Bea", "Joshua", "Nicole", "Gabriel", "Jasmine"
+    };
+    private static final String[] LAST = {
+            "Mendoza", "Fontanilla", "Dela Cruz", "Santos", "Reyes", "Garcia", "Bautista", "Ramos", "Aquino",
+            "Villanueva", "Castillo", "Navarro", "Torres", "Flores", "Domingo", "Pascual"
+    };
+    private static final String[] ADDRESS = {
+            "Tibungco Davao City", "Samal", "Toril Davao City", "Panabo", "Tagum", "Buhangin Davao City",
+            "Matina Davao City", "Digos", "Mati", "Calinan Davao City"
+    };
+    private static final String[] COURSE = { "BSIT", "BSCS", "BSED", "BSBA", "BSN", "BSCE" };
+    private static final String[] DOMAIN = { "gmail.com", "yahoo.com", "outlook.com", "school.edu.ph" };
+    private static final String[] INVALID_ROWS = {
+            "abc|Bad Id|20|Samal|BSIT 1|2004-01-01|bad@x.com",
+            "0|Zero Id|20|Samal|BSIT 1|2004-01-01|zero@x.com",
+            "12345|Too Few Fields|20",
+            "-5|Negative Id|20|Samal|BSIT 1|2004-01-01|neg@x.com",
+            // Well-formed row whose date DateRecognizer must reject (it loads without a birthday);
+            // the id sits below the generated range so it never clashes with a real record
+            "99999|Bad Date|20|Samal|BSIT 1|2004-13-45|baddate@x.com"
+    };
+    private static final int RECENT = 1024;
+
+    private final SplittableRandom rnd;
+    private Format format = Format.PIPE;
+    private double duplicateRatio;
+    private double escapeRatio;
+    private double invalidRatio;
+    private int firstId = 100_000;
+
+    private final Student[] recent = new Student[RECENT];
+    private long generated;
+
+    public RosterGenerator(long seed) {
+        this.rnd = new SplittableRandom(seed);
+    }
+
+    public RosterGenerator format(Format format) { this.format = format; return this; }
+    public RosterGenerator duplicateRatio(double ratio) { this.duplicateRatio = ratio; return this; }
+    public RosterGenerator escapeRatio(double ratio) { this.escapeRatio = ratio; return this; }
+    public RosterGenerator invalidRatio(double ratio) { this.invalidRatio = ratio; return this; }
+    public RosterGenerator firstId(int firstId) { this.firstId = firstId; return this; }
+
+    /** Next unique, valid student (ids, names and emails never repeat). */
+    public Student nextStudent() {
+        long i = generated++;
+        String first = FIRST[rnd.nextInt(FIRST.length)];
+        String last = LAST[rnd.nextInt(LAST.length)];
+        // Letter suffix keeps names unique without digits, which validation rejects
+        String name = first + " " + last + " " + letters(i);
+        String address = ADDRESS[rnd.nextInt(ADDRESS.length)];
+        String course = COURSE[rnd.nextInt(COURSE.length)] + " " + (1 + rnd.nextInt(4));
+        LocalDate dob = LocalDate.of(1990 + rnd.nextInt(18), 1 + rnd.nextInt(12), 1 + rnd.nextInt(28));
+        int age = LocalDate.now().getYear() - dob.getYear();
+        String email = (first + "." + last).toLowerCase(Locale.ROOT).replace(" ", "") + i
+                + "@" + DOMAIN[rnd.nextInt(DOMAIN.length)];
+        Student s = new Student(Math.toIntExact(firstId + i), name, age, address, course, dob, email);
+        recent[(int) (i % RECENT)] = s;
+        return s;
+    }
+
+    /** Writes {@code count} rows (duplicates and invalid rows included in the count). */
+    public void write(Path out, long count) throws IOException {
+        try (BufferedWriter bw = new BufferedWriter(
+                new OutputStreamWriter(Files.newOutputStream(out), StandardCharsets.UTF_8), 1 << 16)) {
+            for (long row = 0; row < count; row++) {
+                double roll = rnd.nextDouble();
+                if (roll < invalidRatio) {
+                    writeInvalid(bw);
+                } else if (roll < invalidRatio + duplicateRatio && generated > 0) {
+                    writeRecord(bw, duplicateOfRecent());
+                } else {
+                    Student s = nextStudent();
+                    if (rnd.nextDouble() < escapeRatio) addEscapes(s);
+                    writeRecord(bw, s);
+                }
+            }
+        }
+    }
+
+    private Student duplicateOfRecent() {
+        Student src = recent[rnd.nextInt((int) Math.min(generated, RECENT))];
+        int id = Math.toIntExact(firstId + generated++);
+        return new Student(id, src.getFullName(), src.getAge(), src.getAddress(), src.getCourseYear(),
+                src.getBirthday(), src.getEmail().toUpperCase(Locale.ROOT));
+    }
+
+    private void addEscapes(Student s) {
+        if (format == Format.LEGACY) {
+            // The legacy layout has no escaping; a pipe or newline would corrupt the block
+            s.setAddress(s.getAddress() + " \\ Annex");
+            return;
+        }
+        s.setFullName(s.getFullName() + " | Jr");
+        s.setAddress(s.getAddress() + "\nBlk 3 \\ Lot 4\r");
+    }
+
+    private void writeRecord(BufferedWriter bw, Student s) throws IOException {
+        if (format == Format.PIPE) {
+            bw.write(s.toCsv());
+            bw.newLine();
+            return;
+        }
+        bw.write(Integer.toString(s.getIdNumber())); bw.newLine();
+        bw.write(s.getFullName()); bw.newLine();
+        bw.write(Integer.toString(s.getAge())); bw.newLine();
+        bw.write(s.getAddress()); bw.newLine();
+        bw.write(s.getCourseYear()); bw.newLine();
+        bw.write(s.getBirthday() == null ? "" : s.getBirthday().toString()); bw.newLine();
+        bw.write(s.getEmail()); bw.newLine();
+    }
+
+    private void writeInvalid(BufferedWriter bw) throws IOException {
+        if (format == Format.LEGACY) {
+            // Non-numeric id in an otherwise complete block
+            for (String l : new String[] { "not-an-id", "Invalid Row", "20", "Samal", "BSIT 1", "2004-01-01", "invalid@x.com" }) {
+                bw.write(l);
+                bw.newLine();
+            }
+            return;
+        }
+        bw.write(INVALID_ROWS[rnd.nextInt(INVALID_ROWS.length)]);
+        bw.newLine();
+    }
+
+    private static String letters(long i) {
+        StringBuilder sb = new StringBuilder();
+        do {
+            sb.append((char) ('a' + (int) (i % 26)));
+            i /= 26;
+        } while (i > 0);
+        sb.setCharAt(0, Character.toUpperCase(sb.charAt(0)));
+        return sb.toString();
+    }
+
+    public static void main(String[] args) throws IOException {
+        long count = 1000;
+        long seed = 42;
+        Path out = Paths.get("students.txt");
+        Format format = Format.PIPE;
+        double dup = 0, esc = 0, inv = 0;
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            String v = args[i + 1];
+            switch (args[i]) {
+                case "--count" -> count = Long.parseLong(v);
+                case "--seed" -> seed = Long.parseLong(v);
+                case "--format" -> format = Format.valueOf(v.toUpperCase(Locale.ROOT));
+                case "--dup" -> dup = Double.parseDouble(v);
+                case "--escape" -> esc = Double.parseDouble(v);
+                case "--invalid" -> inv = Double.parseDouble(v);
+                case "--out" -> out = Paths.get(v);
+                default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+        RosterGenerator gen = new RosterGenerator(seed).format(format).duplicateRatio(dup).escapeRatio(esc).invalidRatio(inv);
+        long start = System.nanoTime();
+        gen.write(out, count);
+        System.out.printf("Wrote %d rows to %s in %d ms%n", count, out, (System.nanoTime() - start) / 1_000_000);
+    }
+}
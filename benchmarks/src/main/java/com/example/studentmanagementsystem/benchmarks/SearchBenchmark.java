@@ -0,0 +1,45 @@
+package com.example.studentmanagementsystem.benchmarks;
+
+import com.example.studentmanagementsystem.Student;
+import com.example.studentmanagementsystem.StudentSearch;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * One keystroke worth of filtering: build the predicate and evaluate it over every student,
+ * as the FilteredList does.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Xmx4g" })
+@State(Scope.Benchmark)
+public class SearchBenchmark {
+    @Param({ "10000", "1000000" })
+    public int size;
+
+    // Name hit, date hit, no hit (worst case: every field is checked)
+    @Param({ "mendoza", "2001-05", "zzzz" })
+    public String query;
+
+    private List<Student> students;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        students = BenchData.students(size, false);
+    }
+
+    @Benchmark
+    public int filter() {
+        Predicate<Student> p = StudentSearch.buildPredicate(query);
+        int matches = 0;
+        for (Student s : students) {
+            if (p.test(s)) matches++;
+        }
+        return matches;
+    }
+}
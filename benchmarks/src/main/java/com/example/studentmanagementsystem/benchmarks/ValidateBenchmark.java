@@ -0,0 +1,47 @@
+package com.example.studentmanagementsystem.benchmarks;
+
+import com.example.studentmanagementsystem.Student;
+import com.example.studentmanagementsystem.StudentRepository;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Form validation against a populated repository (including the duplicate checks).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = { "-Xmx4g" })
+@State(Scope.Benchmark)
+public class ValidateBenchmark {
+    @Param({ "10000", "1000000" })
+    public int size;
+
+    private StudentRepository repository;
+    private Student fresh;
+    private Student existing;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        repository = new StudentRepository(Path.of("unused-students.txt"));
+        List<Student> students = BenchData.students(size, false);
+        for (Student s : students) repository.add(s);
+        existing = students.get(size / 2);
+        fresh = new Student(1, "Brand New Student", 20, "Samal", "BSIT 1", LocalDate.of(2004, 2, 29), "new@example.edu");
+    }
+
+    @Benchmark
+    public List<String> validateNew() {
+        return StudentRepository.validate(fresh, true, repository, null);
+    }
+
+    @Benchmark
+    public List<String> validateExistingEdit() {
+        return StudentRepository.validate(existing, false, repository, existing.getIdNumber());
+    }
+}
@@ -0,0 +1,189 @@
+package com.example.studentmanagementsystem;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+
+/**
+ * GZIP support for the data file.
+ * <p>
+ * Files are written as a series of independent gzip members of about 1 MiB of text each
+ * (a block layout similar to BGZF). Every member carries its own compressed length in an
+ * "SB" extra field, so a reader can locate all blocks and inflate them in parallel; any
+ * standard gzip tool still reads the file as one stream. Plain single-member gzip files
+ * are read sequentially.
+ */
+final class CompressedStudentFile {
+    private static final int HEADER = 20;      // fixed gzip header + 8-byte extra field
+    private static final int TRAILER = 8;      // CRC32 + ISIZE
+    private static final int BLOCK_CHARS = 1 << 20;
+    private static final int BUFFER = 1 << 16;
+    private static final int WINDOW = Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+
+    /** Parses the text of one block, or of the whole file when read sequentially. */
+    interface LineParser {
+        void parse(BufferedReader reader) throws IOException;
+    }
+
+    private CompressedStudentFile() {}
+
+    /** True when the file starts with the gzip magic bytes. */
+    static boolean isGzip(Path file) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            return in.read() == 0x1f && in.read() == 0x8b;
+        }
+    }
+
+    /**
+     * Sequential read through a large-buffered inflating stream.
+     */
+    static void readSequential(Path file, LineParser parser) throws IOException {
+        try (InputStream in = new GZIPInputStream(new BufferedInputStream(Files.newInputStream(file), BUFFER), BUFFER);
+             BufferedReader br = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), BUFFER)) {
+            parser.parse(br);
+        }
+    }
+
+    /**
+     * Locates the blocks of a file written by {@link #write}. Returns null when the file
+     * is not entirely in the block layout, in which case callers read it sequentially.
+     */
+    static List<long[]> blocks(Path file) throws IOException {
+        List<long[]> blocks = new ArrayList<>();
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = ch.size();
+            long pos = 0;
+            ByteBuffer hdr = ByteBuffer.allocate(HEADER).order(ByteOrder.LITTLE_ENDIAN);
+            while (pos < size) {
+                hdr.clear();
+                if (size - pos < HEADER + TRAILER || ch.read(hdr, pos) != HEADER) return null;
+                if ((hdr.get(0) & 0xff) != 0x1f || (hdr.get(1) & 0xff) != 0x8b || hdr.get(2) != 8
+                        || (hdr.get(3) & 0x04) == 0 || hdr.getShort(10) != 8
+                        || hdr.get(12) != 'S' || hdr.get(13) != 'B' || hdr.getShort(14) != 4) {
+                    return null;
+                }
+                long blockSize = hdr.getInt(16) & 0xffffffffL;
+                if (blockSize < HEADER + TRAILER || pos + blockSize > size) return null;
+                blocks.add(new long[] { pos, blockSize });
+                pos += blockSize;
+            }
+        }
+        return blocks;
+    }
+
+    /** Reads and inflates a single block; safe to call from several threads at once. */
+    static byte[] inflateBlock(Path file, long offset, long size) throws IOException {
+        ByteBuffer buf = ByteBuffer.allocate(Math.toIntExact(size));
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            while (buf.hasRemaining()) {
+                if (ch.read(buf, offset + buf.position()) < 0) throw new IOException("Truncated block at " + offset);
+            }
+        }
+        byte[] raw = buf.array();
+        ByteBuffer trailer = ByteBuffer.wrap(raw, raw.length - TRAILER, TRAILER).order(ByteOrder.LITTLE_ENDIAN);
+        long expectedCrc = trailer.getInt() & 0xffffffffL;
+        byte[] out = new byte[trailer.getInt()];
+        Inflater inflater = new Inflater(true);
+        try {
+            inflater.setInput(raw, HEADER, raw.length - HEADER - TRAILER);
+            int n = 0;
+            while (n < out.length && !inflater.finished()) {
+                int got = inflater.inflate(out, n, out.length - n);
+                if (got == 0 && (inflater.needsInput() || inflater.needsDictionary())) break;
+                n += got;
+            }
+            if (n != out.length) throw new IOException("Corrupt block at " + offset);
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupt block at " + offset, e);
+        } finally {
+            inflater.end();
+        }
+        CRC32 crc = new CRC32();
+        crc.update(out);
+        if (crc.getValue() != expectedCrc) throw new IOException("CRC mismatch in block at " + offset);
+        return out;
+    }
+
+    /**
+     * Writes the lines in the block layout, compressing a window of blocks in parallel at a time
+     * so memory stays bounded regardless of file size.
+     */
+    static void write(Path file, List<String> lines) throws IOException {
+        String nl = System.lineSeparator();
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file), BUFFER)) {
+            List<byte[]> pending = new ArrayList<>(WINDOW);
+            StringBuilder sb = new StringBuilder(BLOCK_CHARS + 1024);
+            boolean wroteAny = false;
+            for (String l : lines) {
+                sb.append(l).append(nl);
+                if (sb.length() >= BLOCK_CHARS) {
+                    pending.add(sb.toString().getBytes(StandardCharsets.UTF_8));
+                    sb.setLength(0);
+                    if (pending.size() == WINDOW) {
+                        flush(out, pending);
+                        wroteAny = true;
+                    }
+                }
+            }
+            if (sb.length() > 0 || (!wroteAny && pending.isEmpty())) {
+                // Always at least one member so an empty roster is still a valid gzip file
+                pending.add(sb.toString().getBytes(StandardCharsets.UTF_8));
+            }
+            flush(out, pending);
+        }
+    }
+
+    private static void flush(OutputStream out, List<byte[]> pending) throws IOException {
+        List<byte[]> compressed = pending.parallelStream().map(CompressedStudentFile::compressBlock).toList();
+        for (byte[] block : compressed) out.write(block);
+        pending.clear();
+    }
+
+    private static byte[] compressBlock(byte[] data) {
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        ByteArrayOutputStream body = new ByteArrayOutputStream(data.length / 4 + 64);
+        try {
+            deflater.setInput(data);
+            deflater.finish();
+            byte[] buf = new byte[BUFFER];
+            while (!deflater.finished()) {
+                int n = deflater.deflate(buf);
+                body.write(buf, 0, n);
+            }
+        } finally {
+            deflater.end();
+        }
+        CRC32 crc = new CRC32();
+        crc.update(data);
+        int total = HEADER + body.size() + TRAILER;
+        ByteBuffer block = ByteBuffer.allocate(total).order(ByteOrder.LITTLE_ENDIAN);
+        block.put((byte) 0x1f).put((byte) 0x8b).put((byte) 8).put((byte) 0x04) // deflate, FEXTRA
+                .putInt(0)                       // mtime
+                .put((byte) 0).put((byte) 0xff)  // xfl, os = unknown
+                .putShort((short) 8)             // XLEN
+                .put((byte) 'S').put((byte) 'B').putShort((short) 4)
+                .putInt(total);                  // whole member size, read back by blocks()
+        block.put(body.toByteArray());
+        block.putInt((int) crc.getValue()).putInt(data.length);
+        return block.array();
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.studentmanagementsystem;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Single-pass date recognizer shared by the student form and the data file parser.
+ * The input shape is classified once and resolved straight to a {@link LocalDate},
+ * without trying formatters in turn and without exceptions for rejected input.
+ * <p>
+ * Accepted shapes, tried in this order for ambiguous numeric input:
+ * <ul>
+ *   <li>{@code uuuu-MM-dd}, then {@code d-M-uuuu}, then {@code M-d-uuuu}</li>
+ *   <li>{@code M/d/uuuu}, then {@code d/M/uuuu}, then {@code uuuu/M/d}</li>
+ *   <li>{@code uuuu.MM.dd}</li>
+ *   <li>{@code MMM d, uuuu}, {@code MMM d uuuu} and {@code d MMM uuuu} (English short month, e.g. "Sep")</li>
+ * </ul>
+ * Years are exactly four digits, {@code MM}/{@code dd} exactly two, {@code M}/{@code d} one or more,
+ * and dates are resolved strictly (no Feb 30). Signed years beyond four digits, which the old
+ * formatters accepted, are rejected since they can never be a valid birthday.
+ */
+public final class DateRecognizer {
+    private static final String[] MONTHS = {
+            "Jan", "Feb", "Mar", "Apr", "May", "Jun", "Jul", "Aug", "Sep", "Oct", "Nov", "Dec"
+    };
+    // Birthdays repeat heavily in large rosters; sharing instances also saves memory
+    private static final int CACHE_LIMIT = 1 << 16;
+    private static final LocalDate INVALID = LocalDate.MIN;
+    private static final Map<String, LocalDate> CACHE = new ConcurrentHashMap<>();
+
+    private DateRecognizer() {}
+
+    /** Flexible parse used by the form; trims the input. Returns null for blank or unrecognized text. */
+    public static LocalDate parse(String s) {
+        if (s == null) return null;
+        String t = s.trim();
+        if (t.isEmpty()) return null;
+        LocalDate cached = CACHE.get(t);
+        if (cached == null) {
+            cached = recognize(t);
+            if (cached == null) cached = INVALID;
+            if (CACHE.size() >= CACHE_LIMIT) CACHE.clear();
+            CACHE.put(t, cached);
+        }
+        return cached == INVALID ? null : cached;
+    }
+
+    /**
+     * Strict {@code uuuu-MM-dd} parse used for the data file, equivalent to {@link LocalDate#parse(CharSequence)}
+     * for four-digit years. No trimming; returns null instead of throwing.
+     */
+    public static LocalDate parseIso(String s) {
+        if (s == null || s.length() != 10 || s.charAt(4) != '-' || s.charAt(7) != '-') return null;
+        // Any ISO-shaped string resolves the same way under the flexible rules, so the cache is shared
+        return parse(s);
+    }
+
+    private static LocalDate recognize(String t) {
+        int n = t.length();
+        if (isDigit(t.charAt(0))) {
+            int aEnd = digitsEnd(t, 0);
+            if (aEnd >= n) return null;
+            char sep = t.charAt(aEnd);
+            if (sep == ' ') {
+                // d MMM uuuu
+                int m = monthAt(t, aEnd + 1);
+                int yStart = aEnd + 4;
+                if (m < 0 || yStart >= n || t.charAt(yStart) != ' ') return null;
+                return year4ToEnd(t, yStart + 1) ? of(value(t, yStart + 1, n), m, value(t, 0, aEnd)) : null;
+            }
+            if (sep != '-' && sep != '/' && sep != '.') return null;
+            int bStart = aEnd + 1;
+            int bEnd = digitsEnd(t, bStart);
+            if (bEnd == bStart || bEnd >= n || t.charAt(bEnd) != sep) return null;
+            int cStart = bEnd + 1;
+            int cEnd = digitsEnd(t, cStart);
+            if (cEnd == cStart || cEnd != n) return null;
+            int aLen = aEnd, bLen = bEnd - bStart, cLen = cEnd - cStart;
+            int a = value(t, 0, aEnd), b = value(t, bStart, bEnd), c = value(t, cStart, cEnd);
+            LocalDate d = null;
+            switch (sep) {
+                case '-':
+                    if (aLen == 4 && bLen == 2 && cLen == 2) d = of(a, b, c);
+                    if (d == null && cLen == 4) d = of(c, b, a);
+                    if (d == null && cLen == 4) d = of(c, a, b);
+                    break;
+                case '/':
+                    if (cLen == 4) d = of(c, a, b);
+                    if (d == null && cLen == 4) d = of(c, b, a);
+                    if (d == null && aLen == 4) d = of(a, b, c);
+                    break;
+                default: // '.'
+                    if (aLen == 4 && bLen == 2 && cLen == 2) d = of(a, b, c);
+                    break;
+            }
+            return d;
+        }
+        // MMM d, uuuu | MMM d uuuu
+        int m = monthAt(t, 0);
+        if (m < 0 || n < 5 || t.charAt(3) != ' ') return null;
+        int dEnd = digitsEnd(t, 4);
+        if (dEnd == 4 || dEnd >= n) return null;
+        int yStart;
+        if (t.charAt(dEnd) == ',') {
+            if (dEnd + 1 >= n || t.charAt(dEnd + 1) != ' ') return null;
+            yStart = dEnd + 2;
+        } else if (t.charAt(dEnd) == ' ') {
+            yStart = dEnd + 1;
+        } else {
+            return null;
+        }
+        return year4ToEnd(t, yStart) ? of(value(t, yStart, n), m, value(t, 4, dEnd)) : null;
+    }
+
+    private static boolean isDigit(char c) { return c >= '0' && c <= '9'; }
+
+    private static int digitsEnd(String t, int from) {
+        int i = from;
+        while (i < t.length() && isDigit(t.charAt(i))) i++;
+        return i;
+    }
+
+    private static boolean year4ToEnd(String t, int from) {
+        return from + 4 == t.length() && digitsEnd(t, from) == t.length();
+    }
+
+    /** Digit run value, or -1 when it is too long to ever be a valid field. */
+    private static int value(String t, int from, int to) {
+        if (to - from > 9) return -1;
+        int v = 0;
+        for (int i = from; i < to; i++) v = v * 10 + (t.charAt(i) - '0');
+        return v;
+    }
+
+    /** 1-based month for a case-sensitive English short name at {@code from}, or -1. */
+    private static int monthAt(String t, int from) {
+        if (from + 3 > t.length()) return -1;
+        for (int i = 0; i < MONTHS.length; i++) {
+            if (t.startsWith(MONTHS[i], from)) return i + 1;
+        }
+        return -1;
+    }
+
+    private static LocalDate of(int year, int month, int day) {
+        if (year < 0 || month < 1 || month > 12 || day < 1) return null;
+        boolean leap = (year % 4 == 0) && (year % 100 != 0 || year % 400 == 0);
+        int max = switch (month) {
+            case 2 -> leap ? 29 : 28;
+            case 4, 6, 9, 11 -> 30;
+            default -> 31;
+        };
+        return day > max ? null : LocalDate.of(year, month, day);
+    }
+}
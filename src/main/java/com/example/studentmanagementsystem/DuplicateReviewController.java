@@ -0,0 +1,94 @@
+package com.example.studentmanagementsystem;
+
+import javafx.beans.property.ReadOnlyObjectWrapper;
+import javafx.beans.property.ReadOnlyStringWrapper;
+import javafx.fxml.FXML;
+import javafx.scene.control.Label;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+import javafx.stage.Stage;
+
+import java.util.List;
+
+public class DuplicateReviewController {
+    @FXML private TableView<NearDuplicateDetector.Candidate> pairTable;
+    @FXML private TableColumn<NearDuplicateDetector.Candidate, String> scoreCol;
+    @FXML private TableColumn<NearDuplicateDetector.Candidate, String> firstCol;
+    @FXML private TableColumn<NearDuplicateDetector.Candidate, String> secondCol;
+    @FXML private Label summaryLabel;
+
+    private StudentRepository repository;
+    private UndoHistory history;
+
+    @FXML
+    public void initialize() {
+        scoreCol.setCellValueFactory(d -> new ReadOnlyStringWrapper(
+                String.format("%.0f%%", d.getValue().getSimilarity() * 100)));
+        firstCol.setCellValueFactory(d -> new ReadOnlyObjectWrapper<>(describe(d.getValue().getFirst())));
+        secondCol.setCellValueFactory(d -> new ReadOnlyObjectWrapper<>(describe(d.getValue().getSecond())));
+    }
+
+    private static String describe(Student s) {
+        return s.getIdNumber() + " | " + s.getFullName() + " | " + s.getAddress() + " | " + s.getEmail();
+    }
+
+    public void setData(StudentRepository repository, UndoHistory history, NearDuplicateDetector.Scan scan) {
+        this.repository = repository;
+        this.history = history;
+        List<NearDuplicateDetector.Candidate> candidates = scan.getCandidates();
+        pairTable.getItems().setAll(candidates);
+        String summary = candidates.isEmpty() ? "No likely duplicates found" : candidates.size() + " candidate pairs";
+        if (scan.getPairsFound() > candidates.size()) {
+            summary += " (best " + candidates.size() + " of " + scan.getPairsFound() + ")";
+        }
+        if (scan.getOversizedBuckets() > 0) {
+            // Say so rather than implying the roster was fully checked
+            summary += "; " + scan.getSkippedStudents() + " students share very common values and were not fully compared";
+        }
+        summaryLabel.setText(summary);
+    }
+
+    @FXML
+    private void onDeleteFirst() {
+        NearDuplicateDetector.Candidate c = pairTable.getSelectionModel().getSelectedItem();
+        if (c != null) deleteStudent(c.getFirst());
+    }
+
+    @FXML
+    private void onDeleteSecond() {
+        NearDuplicateDetector.Candidate c = pairTable.getSelectionModel().getSelectedItem();
+        if (c != null) deleteStudent(c.getSecond());
+    }
+
+    @FXML
+    private void onKeepBoth() {
+        NearDuplicateDetector.Candidate c = pairTable.getSelectionModel().getSelectedItem();
+        if (c != null) pairTable.getItems().remove(c);
+    }
+
+    private void deleteStudent(Student s) {
+        int id = s.getIdNumber();
+        Student live = repository.findById(id).orElse(null);
+        if (live == null) {
+            summaryLabel.setText("Student not found: " + id);
+            return;
+        }
+        // The pair came from a snapshot; the id may now belong to an edited or different record
+        if (live != s && !StudentChangeBus.diff(s, live).isEmpty()) {
+            summaryLabel.setText("Student " + id + " changed since the scan; rescan before deleting");
+            return;
+        }
+        if (history.record("Delete duplicate " + id, () -> repository.delete(id))) {
+            // Any other pair involving the deleted student is moot now
+            pairTable.getItems().removeIf(c -> c.getFirst().getIdNumber() == id || c.getSecond().getIdNumber() == id);
+            summaryLabel.setText("Deleted student " + id + "; " + pairTable.getItems().size() + " pairs left");
+        } else {
+            summaryLabel.setText("Student not found: " + id);
+        }
+    }
+
+    @FXML
+    private void onClose() {
+        ((Stage) pairTable.getScene().getWindow()).close();
+    }
+}
@@ -0,0 +1,691 @@
+package com.example.studentmanagementsystem;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Typo-tolerant search over student names and emails. Both are split into lower-case letter
+ * runs ("maria.garcia12@example.com" gives maria, garcia, example, com); the distinct terms form
+ * a vocabulary with a posting list of students each. A query term matches vocabulary terms
+ * exactly, by prefix, by substring, or within a small edit distance (adjacent transpositions
+ * count as one edit). The vocabulary is a trie, so prefixes are a subtree and typos are found by
+ * walking the trie with one edit-distance row per level, pruning branches that are already too
+ * far off or whose terms are all too short; substrings come from a trigram index over the terms.
+ * The per-keystroke cost depends on the matching terms and their postings, not on the size of the
+ * vocabulary or the roster.
+ * <p>
+ * Every query term must match (AND); a student's score is the sum of its best score per term.
+ * Only the top {@code k} students survive a bounded heap. Students are scored one at a time from
+ * the rarest query term's postings, best term first, checking their own terms against the other
+ * query terms; the scan stops once the heap is full of students that no remaining posting can
+ * beat, so a broad or common term does not cost a pass over all of its postings.
+ * <p>
+ * {@link #build} indexes a {@link PersistentStudentMap} snapshot and can run on a background
+ * thread; afterwards the index is kept current with {@link #apply} for each change from the
+ * {@link StudentChangeBus}. Terms nobody uses any more stay in the vocabulary with empty postings.
+ * {@link #search} and {@link #apply} reuse scratch arrays and must be called from one thread.
+ */
+public final class FuzzyStudentIndex {
+    private static final float EXACT = 1.0f;
+    private static final float PREFIX = 0.9f;
+    private static final float SUBSTRING = 0.75f;
+    private static final float FUZZY = 0.7f;
+
+    // Vocabulary trie as parallel arrays; node 0 is the root, children are a linked sibling list
+    // for walks plus an edge table for lookups
+    private char[] label = new char[1024];
+    private int[] firstChild = new int[1024];
+    private int[] nextSibling = new int[1024];
+    private int[] nodeTerm = new int[1024];   // term ending at the node, or -1
+    private int[] maxLength = new int[1024];  // longest term at or below the node
+    private int nodeCount;
+    private final LongIntMap edges;
+
+    // Terms by id; postings hold doc slots, unordered, the first postingSize[t] are live
+    private String[] terms = new String[1024];
+    private int[][] postings = new int[1024][];
+    private int[] postingSize = new int[1024];
+    private int termCount;
+    // Trigram -> slot in trigramTerms, each [count, term, term, ...] growable
+    private final LongIntMap trigrams = new LongIntMap(1024);
+    private int[][] trigramTerms = new int[1024][];
+
+    // Doc slots: the student id, and pairs of (term, position in that term's postings); null if free
+    private int[] docIds;
+    private int[][] docTerms;
+    private int docCount;
+    private int[] freeSlots = new int[16];
+    private int freeCount;
+    private final IntIntMap slotById;
+
+    // Per-query scratch; stamps mark which docs and terms belong to the current query
+    private int[] stamp;
+    private int generation;
+    private float[] termBest = new float[1024];
+    private int[] termStamp = new int[1024];
+    private int termGeneration;
+    private int[] matched = new int[64];
+    private int matchedCount;
+    private int[][] rows;
+
+    private FuzzyStudentIndex(int expectedDocs) {
+        int n = Math.max(16, expectedDocs);
+        docIds = new int[n];
+        docTerms = new int[n][];
+        stamp = new int[n];
+        slotById = new IntIntMap(n);
+        edges = new LongIntMap(n);
+        nodeTerm[0] = -1;
+        firstChild[0] = -1;
+        nextSibling[0] = -1;
+        nodeCount = 1;
+    }
+
+    public static FuzzyStudentIndex build(PersistentStudentMap snapshot) {
+        FuzzyStudentIndex index = new FuzzyStudentIndex(snapshot.size());
+        snapshot.forEach(index::add);
+        return index;
+    }
+
+    /**
+     * Brings the index up to date with one change. Returns false for a {@code RESET}, after which
+     * the roster was replaced wholesale and the index must be built again.
+     */
+    public boolean apply(StudentChangeBus.Change change) {
+        switch (change.getKind()) {
+            case ADDED -> add(change.getAfter());
+            case REMOVED -> remove(change.getBefore().getIdNumber());
+            case UPDATED -> {
+                if (change.changed(StudentChangeBus.Field.ID) || change.changed(StudentChangeBus.Field.FULL_NAME)
+                        || change.changed(StudentChangeBus.Field.EMAIL)) {
+                    remove(change.getBefore().getIdNumber());
+                    add(change.getAfter());
+                }
+            }
+            case RESET -> {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public int size() { return slotById.size(); }
+
+    public int vocabularySize() { return termCount; }
+
+    /** True when the query has at least one term the index can match (letters only). */
+    public static boolean isSearchable(String query) {
+        List<String> out = new ArrayList<>();
+        tokenize(query, out);
+        return !out.isEmpty();
+    }
+
+    /** Best {@code k} matches for the query, highest score first. */
+    public Result search(String query, int k) {
+        List<String> queryTerms = new ArrayList<>();
+        tokenize(query, queryTerms);
+        if (queryTerms.isEmpty() || slotById.size() == 0 || k <= 0) return Result.EMPTY;
+
+        // Resolve every query term first; the rarest goes first so the candidate set starts small
+        List<TermMatches> resolved = new ArrayList<>();
+        for (String q : queryTerms) {
+            TermMatches m = matchTerms(q);
+            if (m.termIndexes.length == 0) return Result.EMPTY;
+            resolved.add(m);
+        }
+        resolved.sort(Comparator.comparingLong(m -> m.postingCount));
+
+        // The other query terms' matches, term -> index into their scores, and their best scores
+        int others = resolved.size() - 1;
+        IntIntMap[] otherTerms = new IntIntMap[others];
+        float[] otherBest = new float[others];
+        for (int j = 0; j < others; j++) {
+            TermMatches m = resolved.get(j + 1);
+            otherTerms[j] = new IntIntMap(m.termIndexes.length);
+            for (int t = 0; t < m.termIndexes.length; t++) {
+                otherTerms[j].put(m.termIndexes[t], t);
+                otherBest[j] = Math.max(otherBest[j], m.scores[t]);
+            }
+        }
+
+        // Best matching terms of the rarest query term first: a student's first sighting then
+        // carries its best score for that term, and the bound only falls from term to term
+        TermMatches first = resolved.get(0);
+        Integer[] order = new Integer[first.termIndexes.length];
+        for (int i = 0; i < order.length; i++) order[i] = i;
+        Arrays.sort(order, (a, b) -> Float.compare(first.scores[b], first.scores[a]));
+
+        int gen = ++generation;
+        TopK top = new TopK(k);
+        scan:
+        for (int i : order) {
+            float score = first.scores[i];
+            // Highest total any student in this term's postings can reach (summed in the same
+            // order as the totals below, so rounding cannot put a total above it)
+            float bound = score;
+            for (int j = 0; j < others; j++) bound += otherBest[j];
+            int[] list = postings[first.termIndexes[i]];
+            for (int p = 0, n = postingSize[first.termIndexes[i]]; p < n; p++) {
+                if (top.isFull() && top.minScore() >= bound) break scan;
+                int d = list[p];
+                if (stamp[d] == gen) continue;
+                stamp[d] = gen;
+                float total = score;
+                for (int j = 0; j < others && total >= 0f; j++) {
+                    float best = bestScore(docTerms[d], otherTerms[j], resolved.get(j + 1).scores);
+                    total = best < 0f ? -1f : total + best;
+                }
+                if (total >= 0f) top.offer(d, total);
+            }
+        }
+        return top.toResult(docIds);
+    }
+
+    // The doc's best score among the query term's matching terms, or -1 if it has none of them
+    private static float bestScore(int[] pairs, IntIntMap matches, float[] scores) {
+        float best = -1f;
+        for (int p = 0; p < pairs.length; p += 2) {
+            int at = matches.get(pairs[p]);
+            if (at >= 0 && scores[at] > best) best = scores[at];
+        }
+        return best;
+    }
+
+    /** Ranked matches, best first, as student ids; the table shows them in this order. */
+    public static final class Result {
+        static final Result EMPTY = new Result(new int[0], new float[0]);
+
+        private final int[] ids;
+        private final float[] scores;
+
+        Result(int[] ids, float[] scores) {
+            this.ids = ids;
+            this.scores = scores;
+        }
+
+        public int size() { return ids.length; }
+
+        public int getId(int i) { return ids[i]; }
+
+        public float getScore(int i) { return scores[i]; }
+    }
+
+    // Lower-case letter runs; digits and punctuation separate terms
+    static void tokenize(String text, List<String> out) {
+        if (text == null) return;
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean letter = i < text.length() && Character.isLetter(text.charAt(i));
+            if (letter && start < 0) {
+                start = i;
+            } else if (!letter && start >= 0) {
+                out.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+    }
+
+    // Allowed typos grow with the term length; very short terms must match literally
+    private static int maxEdits(int length) {
+        if (length <= 3) return 0;
+        return length <= 6 ? 1 : 2;
+    }
+
+    // ---- maintenance ----
+
+    private void add(Student s) {
+        int id = s.getIdNumber();
+        if (slotById.get(id) >= 0) remove(id);
+        int d = freeCount > 0 ? freeSlots[--freeCount] : docCount++;
+        if (d == docIds.length) growDocs();
+        List<String> words = new ArrayList<>();
+        tokenize(s.getFullName(), words);
+        tokenize(s.getEmail(), words);
+        int[] pairs = new int[words.size() * 2];
+        int n = 0;
+        for (String w : words) {
+            int t = termFor(w);
+            int size = postingSize[t];
+            if (size > 0 && postings[t][size - 1] == d) continue; // same term twice in one record
+            if (postings[t] == null) postings[t] = new int[2];
+            else if (size == postings[t].length) postings[t] = Arrays.copyOf(postings[t], size * 2);
+            postings[t][size] = d;
+            postingSize[t] = size + 1;
+            pairs[n++] = t;
+            pairs[n++] = size;
+        }
+        docIds[d] = id;
+        docTerms[d] = n == pairs.length ? pairs : Arrays.copyOf(pairs, n);
+        slotById.put(id, d);
+    }
+
+    // Swap-removes the doc from each of its postings, fixing the position kept by the doc moved in
+    private void remove(int id) {
+        int d = slotById.remove(id);
+        if (d < 0) return;
+        int[] pairs = docTerms[d];
+        for (int i = 0; i < pairs.length; i += 2) {
+            int t = pairs[i], pos = pairs[i + 1];
+            int last = --postingSize[t];
+            int moved = postings[t][last];
+            if (pos != last) {
+                postings[t][pos] = moved;
+                int[] movedPairs = docTerms[moved];
+                for (int j = 0; j < movedPairs.length; j += 2) {
+                    if (movedPairs[j] == t) {
+                        movedPairs[j + 1] = pos;
+                        break;
+                    }
+                }
+            }
+        }
+        docTerms[d] = null;
+        if (freeCount == freeSlots.length) freeSlots = Arrays.copyOf(freeSlots, freeCount * 2);
+        freeSlots[freeCount++] = d;
+    }
+
+    private void growDocs() {
+        int n = docIds.length * 2;
+        docIds = Arrays.copyOf(docIds, n);
+        docTerms = Arrays.copyOf(docTerms, n);
+        stamp = Arrays.copyOf(stamp, n);
+    }
+
+    // Term id for a word, adding it to the trie and the trigram index if it is new
+    private int termFor(String word) {
+        int node = 0;
+        for (int i = 0; i < word.length(); i++) {
+            char c = word.charAt(i);
+            int child = childOf(node, c);
+            if (child < 0) {
+                child = newNode(node, c);
+                nextSibling[child] = firstChild[node];
+                firstChild[node] = child;
+            }
+            node = child;
+            if (maxLength[node] < word.length()) maxLength[node] = word.length();
+        }
+        if (nodeTerm[node] >= 0) return nodeTerm[node];
+        int t = termCount++;
+        if (t == terms.length) {
+            int n = t * 2;
+            terms = Arrays.copyOf(terms, n);
+            postings = Arrays.copyOf(postings, n);
+            postingSize = Arrays.copyOf(postingSize, n);
+            termBest = Arrays.copyOf(termBest, n);
+            termStamp = Arrays.copyOf(termStamp, n);
+        }
+        terms[t] = word;
+        nodeTerm[node] = t;
+        for (int i = 0; i + 3 <= word.length(); i++) {
+            long key = trigram(word, i);
+            int g = trigrams.get(key);
+            if (g < 0) {
+                g = trigrams.size();
+                trigrams.put(key, g);
+                if (g == trigramTerms.length) trigramTerms = Arrays.copyOf(trigramTerms, g * 2);
+                trigramTerms[g] = new int[4];
+            }
+            int[] list = trigramTerms[g];
+            if (list[0] > 0 && list[list[0]] == t) continue; // same trigram twice in one term
+            if (list[0] + 1 == list.length) trigramTerms[g] = list = Arrays.copyOf(list, list.length * 2);
+            list[++list[0]] = t;
+        }
+        return t;
+    }
+
+    private int childOf(int node, char c) {
+        return edges.get(((long) node << 16) | c);
+    }
+
+    private int newNode(int parent, char c) {
+        if (nodeCount == label.length) {
+            int n = nodeCount * 2;
+            label = Arrays.copyOf(label, n);
+            firstChild = Arrays.copyOf(firstChild, n);
+            nextSibling = Arrays.copyOf(nextSibling, n);
+            nodeTerm = Arrays.copyOf(nodeTerm, n);
+            maxLength = Arrays.copyOf(maxLength, n);
+        }
+        int node = nodeCount++;
+        label[node] = c;
+        edges.put(((long) parent << 16) | c, node);
+        firstChild[node] = -1;
+        nextSibling[node] = -1;
+        nodeTerm[node] = -1;
+        maxLength[node] = 0;
+        return node;
+    }
+
+    private static long trigram(String s, int i) {
+        return ((long) s.charAt(i) << 32) | ((long) s.charAt(i + 1) << 16) | s.charAt(i + 2);
+    }
+
+    // ---- query term resolution ----
+
+    private static final class TermMatches {
+        int[] termIndexes;
+        float[] scores;
+        long postingCount;
+    }
+
+    private TermMatches matchTerms(String q) {
+        termGeneration++;
+        matchedCount = 0;
+        // Prefix: the subtree under the query's node (includes the exact term)
+        int node = 0;
+        for (int i = 0; i < q.length() && node >= 0; i++) node = childOf(node, q.charAt(i));
+        if (node >= 0) {
+            int[] stack = new int[16];
+            int top = 0;
+            stack[top++] = node;
+            while (top > 0) {
+                int n = stack[--top];
+                int t = nodeTerm[n];
+                if (t >= 0) offer(t, n == node ? EXACT : PREFIX);
+                for (int c = firstChild[n]; c >= 0; c = nextSibling[c]) {
+                    if (top == stack.length) stack = Arrays.copyOf(stack, top * 2);
+                    stack[top++] = c;
+                }
+            }
+        }
+        // Substring: every term containing q contains its rarest trigram
+        if (q.length() >= 3) {
+            int[] rarest = null;
+            for (int i = 0; i + 3 <= q.length(); i++) {
+                int g = trigrams.get(trigram(q, i));
+                if (g < 0) {
+                    rarest = null;
+                    break;
+                }
+                if (rarest == null || trigramTerms[g][0] < rarest[0]) rarest = trigramTerms[g];
+            }
+            if (rarest != null) {
+                for (int i = 1; i <= rarest[0]; i++) {
+                    if (terms[rarest[i]].contains(q)) offer(rarest[i], SUBSTRING);
+                }
+            }
+        }
+        int edits = maxEdits(q.length());
+        if (edits > 0) fuzzyWalk(q.toCharArray(), edits);
+
+        TermMatches m = new TermMatches();
+        m.termIndexes = new int[matchedCount];
+        m.scores = new float[matchedCount];
+        int n = 0;
+        for (int i = 0; i < matchedCount; i++) {
+            int t = matched[i];
+            if (postingSize[t] == 0) continue; // nobody uses the term any more
+            m.termIndexes[n] = t;
+            m.scores[n] = termBest[t];
+            m.postingCount += postingSize[t];
+            n++;
+        }
+        if (n < matchedCount) {
+            m.termIndexes = Arrays.copyOf(m.termIndexes, n);
+            m.scores = Arrays.copyOf(m.scores, n);
+        }
+        return m;
+    }
+
+    // Keeps the best score per term for the current query term
+    private void offer(int t, float score) {
+        if (termStamp[t] != termGeneration) {
+            termStamp[t] = termGeneration;
+            termBest[t] = score;
+            if (matchedCount == matched.length) matched = Arrays.copyOf(matched, matchedCount * 2);
+            matched[matchedCount++] = t;
+        } else if (score > termBest[t]) {
+            termBest[t] = score;
+        }
+    }
+
+    // Every term within `edits` of q by optimal string alignment (Levenshtein plus swaps of
+    // adjacent characters, "garcai" -> "garcia"); rows[i] is the distance row for the trie prefix
+    // of length i. A term below the node costs at least cur[j] plus one edit per query character
+    // after j that its remaining letters cannot cover, so a branch is dropped once that bound
+    // exceeds the limit for every j
+    private void fuzzyWalk(char[] q, int edits) {
+        rows = new int[16][q.length + 1];
+        for (int j = 0; j <= q.length; j++) rows[0][j] = j;
+        for (int c = firstChild[0]; c >= 0; c = nextSibling[c]) walk(c, 1, (char) 0, q, edits);
+    }
+
+    private void walk(int node, int depth, char prevChar, char[] q, int edits) {
+        if (depth == rows.length) {
+            int n = rows.length;
+            rows = Arrays.copyOf(rows, n * 2);
+            for (int i = n; i < rows.length; i++) rows[i] = new int[q.length + 1];
+        }
+        int[] prev = rows[depth - 1];
+        int[] cur = rows[depth];
+        char c = label[node];
+        // Letters the longest term below this node has left after it
+        int room = maxLength[node] - depth;
+        cur[0] = depth;
+        int min = depth + Math.max(0, q.length - room);
+        for (int j = 1; j <= q.length; j++) {
+            int cost = c == q[j - 1] ? 0 : 1;
+            int v = Math.min(Math.min(cur[j - 1] + 1, prev[j] + 1), prev[j - 1] + cost);
+            if (depth > 1 && j > 1 && c == q[j - 2] && prevChar == q[j - 1]) {
+                v = Math.min(v, rows[depth - 2][j - 2] + 1);
+            }
+            cur[j] = v;
+            int bound = v + Math.max(0, q.length - j - room);
+            if (bound < min) min = bound;
+        }
+        int t = nodeTerm[node];
+        int distance = cur[q.length];
+        if (t >= 0 && distance <= edits) offer(t, FUZZY * (1f - (float) distance / (q.length + 1)));
+        if (min > edits) return;
+        for (int child = firstChild[node]; child >= 0; child = nextSibling[child]) {
+            walk(child, depth + 1, c, q, edits);
+        }
+    }
+
+    // ---- open-addressing int -> int map (non-negative values) ----
+
+    static final class IntIntMap {
+        private int[] keys;
+        private int[] values;   // value + 1; 0 marks an empty slot
+        private int size;
+
+        IntIntMap(int expected) {
+            int capacity = Integer.highestOneBit(Math.max(8, expected) * 2 - 1) << 1;
+            keys = new int[capacity];
+            values = new int[capacity];
+        }
+
+        int size() { return size; }
+
+        /** The value for the key, or -1. */
+        int get(int key) {
+            int mask = keys.length - 1;
+            for (int i = hash(key) & mask; values[i] != 0; i = (i + 1) & mask) {
+                if (keys[i] == key) return values[i] - 1;
+            }
+            return -1;
+        }
+
+        void put(int key, int value) {
+            if ((size + 1) * 2 > keys.length) rehash();
+            int mask = keys.length - 1;
+            int i = hash(key) & mask;
+            while (values[i] != 0 && keys[i] != key) i = (i + 1) & mask;
+            if (values[i] == 0) size++;
+            keys[i] = key;
+            values[i] = value + 1;
+        }
+
+        /** Removes the key and returns its value, or -1 if it was absent. */
+        int remove(int key) {
+            int mask = keys.length - 1;
+            int i = hash(key) & mask;
+            while (values[i] != 0 && keys[i] != key) i = (i + 1) & mask;
+            if (values[i] == 0) return -1;
+            int old = values[i] - 1;
+            // Shift later entries of the probe run back so lookups never stop at the gap
+            for (int j = (i + 1) & mask; values[j] != 0; j = (j + 1) & mask) {
+                int home = hash(keys[j]) & mask;
+                if (((j - home) & mask) >= ((j - i) & mask)) {
+                    keys[i] = keys[j];
+                    values[i] = values[j];
+                    i = j;
+                }
+            }
+            values[i] = 0;
+            size--;
+            return old;
+        }
+
+        private void rehash() {
+            int[] oldKeys = keys, oldValues = values;
+            keys = new int[oldKeys.length * 2];
+            values = new int[oldKeys.length * 2];
+            size = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldValues[i] != 0) put(oldKeys[i], oldValues[i] - 1);
+            }
+        }
+
+        private static int hash(int key) {
+            int h = key * 0x9E3779B9;
+            return h ^ (h >>> 16);
+        }
+    }
+
+    // ---- open-addressing long -> int map (non-negative values), insert-only ----
+
+    static final class LongIntMap {
+        private long[] keys;
+        private int[] values;   // value + 1; 0 marks an empty slot
+        private int size;
+
+        LongIntMap(int expected) {
+            int capacity = Integer.highestOneBit(Math.max(8, expected) * 2 - 1) << 1;
+            keys = new long[capacity];
+            values = new int[capacity];
+        }
+
+        int size() { return size; }
+
+        /** The value for the key, or -1. */
+        int get(long key) {
+            int mask = keys.length - 1;
+            for (int i = hash(key) & mask; values[i] != 0; i = (i + 1) & mask) {
+                if (keys[i] == key) return values[i] - 1;
+            }
+            return -1;
+        }
+
+        void put(long key, int value) {
+            if ((size + 1) * 2 > keys.length) rehash();
+            int mask = keys.length - 1;
+            int i = hash(key) & mask;
+            while (values[i] != 0 && keys[i] != key) i = (i + 1) & mask;
+            if (values[i] == 0) size++;
+            keys[i] = key;
+            values[i] = value + 1;
+        }
+
+        private void rehash() {
+            long[] oldKeys = keys;
+            int[] oldValues = values;
+            keys = new long[oldKeys.length * 2];
+            values = new int[oldKeys.length * 2];
+            size = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldValues[i] != 0) put(oldKeys[i], oldValues[i] - 1);
+            }
+        }
+
+        private static int hash(long key) {
+            long h = key * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32));
+        }
+    }
+
+    // ---- bounded top-k min-heap on (score, doc) ----
+
+    private static final class TopK {
+        private final float[] scores;
+        private final int[] docs;
+        private int size;
+
+        TopK(int k) {
+            scores = new float[k];
+            docs = new int[k];
+        }
+
+        boolean isFull() { return size == scores.length; }
+
+        float minScore() { return scores[0]; }
+
+        // Once full, a newcomer must score strictly higher: among equal scores the first offered stay
+        void offer(int doc, float score) {
+            if (size < scores.length) {
+                scores[size] = score;
+                docs[size] = doc;
+                siftUp(size++);
+            } else if (score > scores[0]) {
+                scores[0] = score;
+                docs[0] = doc;
+                siftDown(0);
+            }
+        }
+
+        // True when the heap entry at i ranks below (score, doc); lower doc index wins ties
+        private boolean worse(int i, float score, int doc) {
+            return scores[i] < score || (scores[i] == score && docs[i] > doc);
+        }
+
+        private boolean less(int i, int j) {
+            return worse(i, scores[j], docs[j]);
+        }
+
+        private void siftUp(int i) {
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (!less(i, parent)) break;
+                swap(i, parent);
+                i = parent;
+            }
+        }
+
+        private void siftDown(int i) {
+            while (true) {
+                int l = 2 * i + 1, r = l + 1, min = i;
+                if (l < size && less(l, min)) min = l;
+                if (r < size && less(r, min)) min = r;
+                if (min == i) return;
+                swap(i, min);
+                i = min;
+            }
+        }
+
+        private void swap(int i, int j) {
+            float s = scores[i]; scores[i] = scores[j]; scores[j] = s;
+            int d = docs[i]; docs[i] = docs[j]; docs[j] = d;
+        }
+
+        Result toResult(int[] docIds) {
+            int[] ids = new int[size];
+            float[] out = new float[size];
+            // Pop the minimum repeatedly, filling from the back so the best ends up first
+            for (int i = size - 1; i >= 0; i--) {
+                ids[i] = docIds[docs[0]];
+                out[i] = scores[0];
+                size--;
+                if (size > 0) {
+                    scores[0] = scores[size];
+                    docs[0] = docs[size];
+                    siftDown(0);
+                }
+            }
+            return new Result(ids, out);
+        }
+    }
+}
@@ -1,34 +1,117 @@
 package com.example.studentmanagementsystem;
 
+import javafx.concurrent.Task;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
+import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.scene.control.Label;
 import javafx.scene.control.PasswordField;
+import javafx.scene.control.ProgressIndicator;
 import javafx.scene.control.TextField;
 import javafx.stage.Stage;
 import javafx.animation.PauseTransition;
 import javafx.util.Duration;
 
 import java.io.IOException;
+import java.util.function.Consumer;
 
 public class LoginController {
     @FXML private TextField usernameField;
     @FXML private PasswordField passwordField;
     @FXML private Label errorLabel;
+    @FXML private ProgressIndicator loadProgress;
+    @FXML private Label loadLabel;
 
     private final StudentRepository repository = new StudentRepository();
     private PauseTransition errorClear;
 
+    // Management scene prepared while the user is typing credentials
+    private Scene managementScene;
+    private StudentManagementController managementController;
+    private boolean loginPending = false;
+    // Journal position of the preloaded snapshot; peers' later entries are replayed from here
+    private SharedJournal.Position snapshotPosition;
+    // True while the background preload runs; afterwards a missing scene is built on demand
+    private boolean preloading = false;
+
     @FXML
     public void initialize() {
         errorClear = new PauseTransition(Duration.seconds(3));
         errorClear.setOnFinished(e -> errorLabel.setText(""));
+        startBackgroundLoad();
+    }
+
+    /**
+     * Reads the data file and parses the management view off the FX thread so the login
+     * window paints immediately; the results are published back on the FX thread.
+     */
+    private void startBackgroundLoad() {
+        Task<Preloaded> task = new Task<>() {
+            @Override
+            protected Preloaded call() throws Exception {
+                return preload(this::updateMessage);
+            }
+        };
+        preloading = true;
+        loadProgress.visibleProperty().bind(task.runningProperty());
+        loadLabel.textProperty().bind(task.messageProperty());
+        task.setOnSucceeded(e -> {
+            preloading = false;
+            onPreloaded(task.getValue());
+        });
+        task.setOnFailed(e -> {
+            preloading = false;
+            loadProgress.visibleProperty().unbind();
+            loadProgress.setVisible(false);
+            loadLabel.textProperty().unbind();
+            Throwable ex = task.getException();
+            loadLabel.setText("Background preparation failed: " + (ex == null ? "unknown error" : ex.getMessage()));
+            // A login that was waiting falls back to preparing the view here, like the old synchronous path
+            if (loginPending) goToManagement();
+        });
+        Thread t = new Thread(task, "student-preload");
+        t.setDaemon(true);
+        t.start();
+    }
+
+    private Preloaded preload(Consumer<String> progress) throws IOException {
+        progress.accept("Loading students...");
+        Preloaded p = new Preloaded();
         try {
-            repository.load();
+            // Under the shared journal's lock, so a peer's checkpoint cannot tear the read
+            SharedJournal.Snapshot snapshot = SharedJournal.read(repository);
+            p.data = snapshot.data();
+            p.position = snapshot.position();
         } catch (Exception e) {
-            showError("Failed to load data: " + e.getMessage());
+            p.loadError = e;
+        }
+        progress.accept("Preparing views...");
+        FXMLLoader loader = new FXMLLoader(SMSApplication.class.getResource("student-management-view.fxml"));
+        p.root = loader.load();
+        p.controller = loader.getController();
+        progress.accept("Preparing student form...");
+        p.controller.prepareStudentForm();
+        return p;
+    }
+
+    private void onPreloaded(Preloaded p) {
+        if (p.loadError != null) {
+            showError("Failed to load data: " + p.loadError.getMessage());
+        } else {
+            long start = System.nanoTime();
+            repository.apply(p.data);
+            Metrics.recordFx(Metrics.APPLY_LOAD, System.nanoTime() - start);
+        }
+        managementScene = new Scene(p.root, 900, 520);
+        managementController = p.controller;
+        managementController.setRepository(repository);
+        snapshotPosition = p.position;
+        loadLabel.textProperty().unbind();
+        loadLabel.setText("Loaded " + repository.getStudents().size() + " students");
+        if (loginPending) {
+            goToManagement();
         }
     }
 
@@ -44,19 +127,29 @@ public class LoginController {
     }
 
     private void goToManagement() {
-        Stage stage = (Stage) usernameField.getScene().getWindow();
-        try {
-            FXMLLoader loader = new FXMLLoader(SMSApplication.class.getResource("student-management-view.fxml"));
-            Scene scene = new Scene(loader.load(), 900, 520);
-            StudentManagementController controller = loader.getController();
-            controller.setRepository(repository);
-            stage.setTitle("Student Management");
-            stage.setScene(scene);
-            stage.setMaximized(false);
-            stage.setResizable(false);
-        } catch (IOException e) {
-            showError("Failed to open management: " + e.getMessage());
+        if (managementScene == null && preloading) {
+            // Still loading; switch as soon as the preload finishes
+            loginPending = true;
+            return;
         }
+        if (managementScene == null) {
+            // The preload failed: prepare synchronously; a later login click retries if this fails too
+            loginPending = false;
+            try {
+                onPreloaded(preload(msg -> {}));
+            } catch (Exception e) {
+                showError("Failed to prepare management: " + e.getMessage());
+                return;
+            }
+            if (managementScene == null) return;
+        }
+        loginPending = false;
+        Stage stage = (Stage) usernameField.getScene().getWindow();
+        stage.setTitle("Student Management");
+        stage.setScene(managementScene);
+        stage.setMaximized(false);
+        stage.setResizable(false);
+        managementController.activate(snapshotPosition);
     }
 
     private void showError(String msg) {
@@ -64,4 +157,12 @@ public class LoginController {
         errorClear.stop();
         errorClear.playFromStart();
     }
+
+    private static final class Preloaded {
+        StudentRepository.LoadResult data;
+        SharedJournal.Position position;
+        Exception loadError;
+        Parent root;
+        StudentManagementController controller;
+    }
 }
@@ -0,0 +1,146 @@
+package com.example.studentmanagementsystem;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-process counters and latency histograms for the repository and UI hot paths.
+ * Cheap enough to stay on in production; see the diagnostics panel (Ctrl+Shift+D in the
+ * management view) or set {@code -Dsms.metrics.file=<path>} to dump them periodically.
+ */
+public final class Metrics {
+    public static final String LOAD = "repository.load";
+    public static final String SAVE = "repository.save";
+    public static final String AUTO_SAVE = "ui.autoSave";
+    public static final String AUTO_RELOAD = "ui.autoReload";
+    public static final String SEARCH = "ui.searchKeystroke";
+    public static final String ADD = "ui.add";
+    public static final String EDIT = "ui.edit";
+    public static final String DELETE = "ui.delete";
+    public static final String UNDO = "ui.undo";
+    public static final String MANUAL_SAVE = "ui.save";
+    public static final String MANUAL_RELOAD = "ui.reload";
+    public static final String APPLY_LOAD = "ui.applyLoad";
+    public static final String SORT = "ui.sort";
+    public static final String FX_BLOCKED = "fx.blocked";
+
+    private static final Map<String, LongAdder> COUNTERS = new ConcurrentHashMap<>();
+    private static final Map<String, Histogram> HISTOGRAMS = new ConcurrentHashMap<>();
+    private static final long DUMP_INTERVAL_SECONDS = 30;
+    private static ScheduledExecutorService dumper;
+
+    private Metrics() {}
+
+    public static void increment(String name) { add(name, 1); }
+
+    public static void add(String name, long delta) {
+        COUNTERS.computeIfAbsent(name, k -> new LongAdder()).add(delta);
+    }
+
+    public static void record(String name, long nanos) {
+        HISTOGRAMS.computeIfAbsent(name, k -> new Histogram()).record(nanos);
+    }
+
+    /** Records work done on the FX thread under its own name and in the shared {@link #FX_BLOCKED} histogram. */
+    public static void recordFx(String name, long nanos) {
+        record(name, nanos);
+        record(FX_BLOCKED, nanos);
+    }
+
+    public static Histogram histogram(String name) { return HISTOGRAMS.get(name); }
+
+    public static long counter(String name) {
+        LongAdder a = COUNTERS.get(name);
+        return a == null ? 0 : a.sum();
+    }
+
+    /** Plain-text report, sorted by name, latencies in milliseconds. */
+    public static String report() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("# metrics at ").append(Instant.now()).append('\n');
+        new TreeMap<>(COUNTERS).forEach((k, v) -> sb.append(k).append(" = ").append(v.sum()).append('\n'));
+        new TreeMap<>(HISTOGRAMS).forEach((k, h) -> sb.append(k).append(": ").append(h).append('\n'));
+        return sb.toString();
+    }
+
+    public static void dumpTo(Path file) throws IOException {
+        Files.writeString(file, report(), StandardCharsets.UTF_8);
+    }
+
+    /** Starts periodic dumping (and a final dump at exit) when {@code sms.metrics.file} is set. */
+    public static synchronized void startDumpIfConfigured() {
+        String target = System.getProperty("sms.metrics.file");
+        if (target == null || target.isBlank() || dumper != null) return;
+        Path file = Paths.get(target);
+        Runnable dump = () -> {
+            try { dumpTo(file); } catch (IOException ignored) {}
+        };
+        dumper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "metrics-dump");
+            t.setDaemon(true);
+            return t;
+        });
+        dumper.scheduleAtFixedRate(dump, DUMP_INTERVAL_SECONDS, DUMP_INTERVAL_SECONDS, TimeUnit.SECONDS);
+        Runtime.getRuntime().addShutdownHook(new Thread(dump, "metrics-final-dump"));
+    }
+
+    /**
+     * Lock-free latency histogram with power-of-two nanosecond buckets; percentiles are
+     * reported as the upper bound of the bucket they fall in.
+     */
+    public static final class Histogram {
+        private final AtomicLongArray buckets = new AtomicLongArray(64);
+        private final LongAdder count = new LongAdder();
+        private final LongAdder sum = new LongAdder();
+        private final AtomicLong max = new AtomicLong();
+
+        public void record(long nanos) {
+            long v = Math.max(0, nanos);
+            buckets.incrementAndGet(63 - Long.numberOfLeadingZeros(v | 1));
+            count.increment();
+            sum.add(v);
+            max.accumulateAndGet(v, Math::max);
+        }
+
+        public long getCount() { return count.sum(); }
+
+        public long getMaxNanos() { return max.get(); }
+
+        public double getMeanNanos() {
+            long n = count.sum();
+            return n == 0 ? 0 : (double) sum.sum() / n;
+        }
+
+        public long percentileNanos(double p) {
+            long n = count.sum();
+            if (n == 0) return 0;
+            long rank = (long) Math.ceil(p * n);
+            long seen = 0;
+            for (int i = 0; i < 64; i++) {
+                seen += buckets.get(i);
+                if (seen >= rank) return i >= 62 ? Long.MAX_VALUE : (1L << (i + 1)) - 1;
+            }
+            return max.get();
+        }
+
+        @Override
+        public String toString() {
+            return String.format("count=%d mean=%.2fms p50<=%.2fms p99<=%.2fms max=%.2fms",
+                    getCount(), getMeanNanos() / 1e6, percentileNanos(0.5) / 1e6,
+                    percentileNanos(0.99) / 1e6, getMaxNanos() / 1e6);
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package com.example.studentmanagementsystem;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.regex.Pattern;
+import java.util.stream.IntStream;
+
+/**
+ * Finds likely duplicate students (e.g. "Tanya Fontanilla" vs "Tanya Fontanilla II" at the same
+ * address) without comparing every pair. Each student gets a MinHash signature over character
+ * shingles of name, address and email; locality-sensitive hashing on signature bands then yields
+ * candidate pairs in near-linear time, which are ranked by estimated Jaccard similarity.
+ * <p>
+ * Pure computation on a list snapshot, so it is safe to run on a background thread.
+ */
+public class NearDuplicateDetector {
+    private static final int SHINGLE = 3;
+    private static final int BANDS = 32;
+    private static final int ROWS = 4;
+    private static final int HASHES = BANDS * ROWS; // LSH threshold ~ (1/BANDS)^(1/ROWS) = 0.42
+    // Buckets this large are common values (e.g. a blank field) rather than duplicates; they are
+    // skipped and reported in the scan result
+    static final int MAX_BUCKET = 200;
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final long[] seeds = new long[HASHES];
+
+    public NearDuplicateDetector() {
+        SplittableRandom rnd = new SplittableRandom(0x5EEDL);
+        for (int i = 0; i < HASHES; i++) seeds[i] = rnd.nextLong();
+    }
+
+    public static final class Candidate {
+        private final Student first;
+        private final Student second;
+        private final double similarity;
+
+        Candidate(Student first, Student second, double similarity) {
+            this.first = first;
+            this.second = second;
+            this.similarity = similarity;
+        }
+
+        public Student getFirst() { return first; }
+        public Student getSecond() { return second; }
+        public double getSimilarity() { return similarity; }
+    }
+
+    /** Outcome of a scan: the best pairs plus what the scan had to leave out. */
+    public static final class Scan {
+        private final List<Candidate> candidates;
+        private final int pairsFound;
+        private final int oversizedBuckets;
+        private final int skippedStudents;
+
+        Scan(List<Candidate> candidates, int pairsFound, int oversizedBuckets, int skippedStudents) {
+            this.candidates = candidates;
+            this.pairsFound = pairsFound;
+            this.oversizedBuckets = oversizedBuckets;
+            this.skippedStudents = skippedStudents;
+        }
+
+        /** Best pairs, most similar first, at most the requested limit. */
+        public List<Candidate> getCandidates() { return candidates; }
+
+        /** Pairs above the threshold before the limit was applied. */
+        public int getPairsFound() { return pairsFound; }
+
+        /** Band buckets over the size cap whose pairs were not compared. */
+        public int getOversizedBuckets() { return oversizedBuckets; }
+
+        /** Students that fell into at least one oversized bucket and may have unreported duplicates. */
+        public int getSkippedStudents() { return skippedStudents; }
+
+        public boolean isTruncated() { return oversizedBuckets > 0 || pairsFound > candidates.size(); }
+    }
+
+    /**
+     * Finds pairs whose estimated similarity is at least {@code threshold} and returns up to
+     * {@code limit} of them, most similar first.
+     * <p>
+     * Banding sorts one primitive array per band: the band hash goes in the high bits and the
+     * student's position in the low bits, so equal bands end up adjacent without boxing. A pair
+     * is only compared in the first band whose rows it shares, so no seen-pair set is needed.
+     */
+    public Scan findCandidates(List<Student> students, double threshold, int limit) {
+        int n = students.size();
+        long[][] signatures = new long[n][];
+        IntStream.range(0, n).parallel().forEach(i -> signatures[i] = signature(students.get(i)));
+
+        int indexBits = Math.max(1, 32 - Integer.numberOfLeadingZeros(n));
+        long indexMask = (1L << indexBits) - 1;
+        int m = 0;
+        for (long[] sig : signatures) if (sig != null) m++;
+        long[] packed = new long[m];
+        boolean[] skipped = new boolean[n];
+        int oversized = 0;
+        int found = 0;
+        // Least similar kept pair on top, so only the best "limit" pairs are ever held
+        PriorityQueue<Candidate> best = new PriorityQueue<>(Comparator.comparingDouble(Candidate::getSimilarity));
+        for (int band = 0; band < BANDS; band++) {
+            int k = 0;
+            for (int i = 0; i < n; i++) {
+                if (signatures[i] != null) packed[k++] = (bandKey(signatures[i], band) & ~indexMask) | i;
+            }
+            Arrays.sort(packed);
+            for (int from = 0, to; from < m; from = to) {
+                long key = packed[from] & ~indexMask;
+                to = from + 1;
+                while (to < m && (packed[to] & ~indexMask) == key) to++;
+                int size = to - from;
+                if (size < 2) continue;
+                if (size > MAX_BUCKET) {
+                    oversized++;
+                    for (int x = from; x < to; x++) skipped[(int) (packed[x] & indexMask)] = true;
+                    continue;
+                }
+                for (int x = from; x < to; x++) {
+                    for (int y = x + 1; y < to; y++) {
+                        int a = (int) (packed[x] & indexMask), b = (int) (packed[y] & indexMask);
+                        // Truncated hashes can collide; also skip pairs an earlier band already compared
+                        if (!sameRows(signatures[a], signatures[b], band) || sharesEarlierBand(signatures[a], signatures[b], band)) continue;
+                        double sim = similarity(signatures[a], signatures[b]);
+                        if (sim < threshold) continue;
+                        found++;
+                        if (best.size() < limit) {
+                            best.add(new Candidate(students.get(a), students.get(b), sim));
+                        } else if (limit > 0 && sim > best.peek().similarity) {
+                            best.poll();
+                            best.add(new Candidate(students.get(a), students.get(b), sim));
+                        }
+                    }
+                }
+            }
+        }
+        int skippedStudents = 0;
+        for (boolean s : skipped) if (s) skippedStudents++;
+        List<Candidate> top = new ArrayList<>(best);
+        top.sort((p, q) -> Double.compare(q.similarity, p.similarity));
+        return new Scan(top, found, oversized, skippedStudents);
+    }
+
+    /** MinHash signature, or null when the student has no text to compare. */
+    long[] signature(Student s) {
+        long[] shingles = shingles(s);
+        if (shingles.length == 0) return null;
+        long[] sig = new long[HASHES];
+        Arrays.fill(sig, Long.MAX_VALUE);
+        for (long sh : shingles) {
+            for (int i = 0; i < HASHES; i++) {
+                long h = mix(sh ^ seeds[i]);
+                if (h < sig[i]) sig[i] = h;
+            }
+        }
+        return sig;
+    }
+
+    private static long[] shingles(Student s) {
+        Set<Long> out = new HashSet<>();
+        addShingles(out, 'n', s.getFullName());
+        addShingles(out, 'a', s.getAddress());
+        addShingles(out, 'e', s.getEmail());
+        long[] arr = new long[out.size()];
+        int i = 0;
+        for (Long v : out) arr[i++] = v;
+        return arr;
+    }
+
+    private static void addShingles(Set<Long> out, char field, String value) {
+        if (value == null) return;
+        String v = WHITESPACE.matcher(value.trim().toLowerCase(Locale.ROOT)).replaceAll(" ");
+        if (v.isEmpty()) return;
+        if (v.length() < SHINGLE) {
+            out.add(mix(field * 31L + v.hashCode()));
+            return;
+        }
+        for (int i = 0; i + SHINGLE <= v.length(); i++) {
+            // Field tag keeps "sam" in a name distinct from "sam" in an address
+            out.add(mix(field * 31L + v.substring(i, i + SHINGLE).hashCode()));
+        }
+    }
+
+    private static long bandKey(long[] sig, int band) {
+        long h = band;
+        for (int r = 0; r < ROWS; r++) h = mix(h * 31 + sig[band * ROWS + r]);
+        return h;
+    }
+
+    private static boolean sameRows(long[] a, long[] b, int band) {
+        for (int r = band * ROWS; r < (band + 1) * ROWS; r++) if (a[r] != b[r]) return false;
+        return true;
+    }
+
+    private static boolean sharesEarlierBand(long[] a, long[] b, int band) {
+        for (int j = 0; j < band; j++) if (sameRows(a, b, j)) return true;
+        return false;
+    }
+
+    private static double similarity(long[] a, long[] b) {
+        int same = 0;
+        for (int i = 0; i < HASHES; i++) if (a[i] == b[i]) same++;
+        return (double) same / HASHES;
+    }
+
+    // MurmurHash3 64-bit finalizer
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,268 @@
+package com.example.studentmanagementsystem;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Immutable map from student id to {@link Student}, implemented as a hash array mapped trie.
+ * Every update copies only the path to the changed entry (at most seven 32-way nodes) and shares
+ * the rest with the previous version, so keeping many versions around costs O(log n) memory per
+ * change. Versions are cheap point-in-time views: undo history, background savers and exporters
+ * can hold one without copying or locking the live list.
+ * <p>
+ * Ids are spread with a bijective 32-bit mix, so distinct ids never collide.
+ */
+public final class PersistentStudentMap {
+    private static final PersistentStudentMap EMPTY = new PersistentStudentMap(null, 0, 0);
+    private static final int BITS = 5;
+    private static final int MASK = 31;
+    // Rough heap cost of a node: header + bitmap + array header + reference per slot
+    private static final int NODE_BYTES = 16 + 4 + 16;
+    private static final int SLOT_BYTES = 4;
+
+    private final Node root;
+    private final int size;
+    // Cumulative bytes of nodes allocated along this version's history (for memory budgets)
+    private final long allocatedBytes;
+
+    private PersistentStudentMap(Node root, int size, long allocatedBytes) {
+        this.root = root;
+        this.size = size;
+        this.allocatedBytes = allocatedBytes;
+    }
+
+    public static PersistentStudentMap empty() { return EMPTY; }
+
+    /** Bulk build without intermediate versions; later students replace earlier ones with the same id. */
+    public static PersistentStudentMap of(Collection<Student> students) {
+        Node root = null;
+        long[] bytes = new long[1];
+        for (Student s : students) {
+            root = put(root, 0, hash(s.getIdNumber()), s, bytes, true);
+        }
+        return root == null ? EMPTY : new PersistentStudentMap(root, count(root), bytes[0]);
+    }
+
+    public int size() { return size; }
+
+    public boolean isEmpty() { return size == 0; }
+
+    public long getAllocatedBytes() { return allocatedBytes; }
+
+    public Student get(int id) {
+        int h = hash(id);
+        Node node = root;
+        int shift = 0;
+        while (node != null) {
+            int bit = 1 << ((h >>> shift) & MASK);
+            if ((node.bitmap & bit) == 0) return null;
+            Object slot = node.slots[Integer.bitCount(node.bitmap & (bit - 1))];
+            if (slot instanceof Student s) return s.getIdNumber() == id ? s : null;
+            node = (Node) slot;
+            shift += BITS;
+        }
+        return null;
+    }
+
+    public PersistentStudentMap put(Student s) {
+        long[] bytes = new long[1];
+        boolean existed = get(s.getIdNumber()) != null;
+        Node next = put(root, 0, hash(s.getIdNumber()), s, bytes, false);
+        if (next == root) return this;
+        return new PersistentStudentMap(next, existed ? size : size + 1, allocatedBytes + bytes[0]);
+    }
+
+    public PersistentStudentMap remove(int id) {
+        if (get(id) == null) return this;
+        long[] bytes = new long[1];
+        Object next = remove(root, 0, hash(id), id, bytes);
+        Node nextRoot = next instanceof Student s ? leafNode(s, 0, bytes) : (Node) next;
+        return new PersistentStudentMap(nextRoot, size - 1, allocatedBytes + bytes[0]);
+    }
+
+    /**
+     * Removes {@code s} from the slot of {@code oldId}, matching by identity; for a record whose id
+     * was edited in place, which {@link #remove(int)} can no longer find by its current id.
+     */
+    PersistentStudentMap removeRekeyed(int oldId, Student s) {
+        int h = hash(oldId);
+        Node node = root;
+        int shift = 0;
+        Object slot = null;
+        while (node != null) {
+            int bit = 1 << ((h >>> shift) & MASK);
+            if ((node.bitmap & bit) == 0) return this;
+            slot = node.slots[Integer.bitCount(node.bitmap & (bit - 1))];
+            if (!(slot instanceof Node child)) break;
+            node = child;
+            shift += BITS;
+        }
+        if (slot != s) return this;
+        long[] bytes = new long[1];
+        Object next = remove(root, 0, h, oldId, bytes);
+        Node nextRoot = next instanceof Student only ? leafNode(only, 0, bytes) : (Node) next;
+        return new PersistentStudentMap(nextRoot, size - 1, allocatedBytes + bytes[0]);
+    }
+
+    public void forEach(Consumer<Student> action) {
+        if (root != null) forEach(root, action);
+    }
+
+    public List<Student> values() {
+        List<Student> out = new ArrayList<>(size);
+        forEach(out::add);
+        return out;
+    }
+
+    /** Receives one call per id whose value differs between two versions (null when absent). */
+    public interface DiffVisitor {
+        void changed(Student before, Student after);
+    }
+
+    /**
+     * Reports the entries that differ from {@code other}; shared subtrees are skipped by
+     * reference, so the cost is proportional to the size of the change, not of the map.
+     */
+    public void diff(PersistentStudentMap other, DiffVisitor visitor) {
+        diff(root, other.root, 0, visitor);
+    }
+
+    private static final class Node {
+        final int bitmap;
+        final Object[] slots; // Student or Node
+
+        Node(int bitmap, Object[] slots) {
+            this.bitmap = bitmap;
+            this.slots = slots;
+        }
+    }
+
+    // murmur3 fmix32: a bijection, so different ids always have different hashes
+    private static int hash(int id) {
+        int h = id;
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    private static Node newNode(int bitmap, Object[] slots, long[] bytes) {
+        bytes[0] += NODE_BYTES + (long) SLOT_BYTES * slots.length;
+        return new Node(bitmap, slots);
+    }
+
+    private static Node leafNode(Student s, int shift, long[] bytes) {
+        return newNode(1 << ((hash(s.getIdNumber()) >>> shift) & MASK), new Object[] { s }, bytes);
+    }
+
+    /** With {@code inPlace} the nodes are owned by the caller (bulk build) and mutated directly. */
+    private static Node put(Node node, int shift, int h, Student s, long[] bytes, boolean inPlace) {
+        if (node == null) return leafNode(s, shift, bytes);
+        int bit = 1 << ((h >>> shift) & MASK);
+        int idx = Integer.bitCount(node.bitmap & (bit - 1));
+        if ((node.bitmap & bit) == 0) {
+            Object[] slots = new Object[node.slots.length + 1];
+            System.arraycopy(node.slots, 0, slots, 0, idx);
+            slots[idx] = s;
+            System.arraycopy(node.slots, idx, slots, idx + 1, node.slots.length - idx);
+            return newNode(node.bitmap | bit, slots, bytes);
+        }
+        Object slot = node.slots[idx];
+        Object replacement;
+        if (slot instanceof Student existing) {
+            if (existing == s) return node;
+            if (existing.getIdNumber() == s.getIdNumber()) {
+                replacement = s;
+            } else {
+                Node sub = leafNode(existing, shift + BITS, bytes);
+                replacement = put(sub, shift + BITS, h, s, bytes, true);
+            }
+        } else {
+            Node child = (Node) slot;
+            replacement = put(child, shift + BITS, h, s, bytes, inPlace);
+            if (replacement == child) return node;
+        }
+        if (inPlace) {
+            node.slots[idx] = replacement;
+            return node;
+        }
+        Object[] slots = node.slots.clone();
+        slots[idx] = replacement;
+        return newNode(node.bitmap, slots, bytes);
+    }
+
+    /** Returns the new subtree: a Node, a single Student to inline in the parent, or null when empty. */
+    private static Object remove(Node node, int shift, int h, int id, long[] bytes) {
+        int bit = 1 << ((h >>> shift) & MASK);
+        int idx = Integer.bitCount(node.bitmap & (bit - 1));
+        Object slot = node.slots[idx];
+        Object replacement;
+        if (slot instanceof Student) {
+            replacement = null;
+        } else {
+            replacement = remove((Node) slot, shift + BITS, h, id, bytes);
+        }
+        if (replacement == null) {
+            if (node.slots.length == 1) return null;
+            if (node.slots.length == 2 && shift > 0 && node.slots[1 - idx] instanceof Student only) return only;
+            Object[] slots = new Object[node.slots.length - 1];
+            System.arraycopy(node.slots, 0, slots, 0, idx);
+            System.arraycopy(node.slots, idx + 1, slots, idx, node.slots.length - idx - 1);
+            return newNode(node.bitmap & ~bit, slots, bytes);
+        }
+        if (replacement instanceof Student only && node.slots.length == 1 && shift > 0) return only;
+        Object[] slots = node.slots.clone();
+        slots[idx] = replacement;
+        return newNode(node.bitmap, slots, bytes);
+    }
+
+    private static int count(Node node) {
+        int n = 0;
+        for (Object slot : node.slots) n += slot instanceof Node child ? count(child) : 1;
+        return n;
+    }
+
+    private static void forEach(Node node, Consumer<Student> action) {
+        for (Object slot : node.slots) {
+            if (slot instanceof Node child) forEach(child, action);
+            else action.accept((Student) slot);
+        }
+    }
+
+    private static void diff(Node a, Node b, int shift, DiffVisitor visitor) {
+        if (a == b) return;
+        int bitsA = a == null ? 0 : a.bitmap;
+        int bitsB = b == null ? 0 : b.bitmap;
+        int all = bitsA | bitsB;
+        while (all != 0) {
+            int bit = Integer.lowestOneBit(all);
+            all &= ~bit;
+            Object sa = (bitsA & bit) == 0 ? null : a.slots[Integer.bitCount(bitsA & (bit - 1))];
+            Object sb = (bitsB & bit) == 0 ? null : b.slots[Integer.bitCount(bitsB & (bit - 1))];
+            diffSlots(sa, sb, shift + BITS, visitor);
+        }
+    }
+
+    private static void diffSlots(Object sa, Object sb, int childShift, DiffVisitor visitor) {
+        if (sa == sb) return;
+        if ((sa == null || sa instanceof Student) && (sb == null || sb instanceof Student)) {
+            Student x = (Student) sa, y = (Student) sb;
+            if (x != null && y != null && x.getIdNumber() != y.getIdNumber()) {
+                visitor.changed(x, null);
+                visitor.changed(null, y);
+            } else {
+                visitor.changed(x, y);
+            }
+            return;
+        }
+        // At least one side is a subtree: lift a lone leaf into a node at the same depth
+        long[] ignored = new long[1];
+        Node na = sa instanceof Student s ? leafNode(s, childShift, ignored) : (Node) sa;
+        Node nb = sb instanceof Student s ? leafNode(s, childShift, ignored) : (Node) sb;
+        diff(na, nb, childShift, visitor);
+    }
+}
@@ -10,6 +10,7 @@ import java.io.IOException;
 public class SMSApplication extends Application {
     @Override
     public void start(Stage stage) throws IOException {
+        Metrics.startDumpIfConfigured();
         FXMLLoader fxmlLoader = new FXMLLoader(SMSApplication.class.getResource("login-view.fxml"));
         Scene scene = new Scene(fxmlLoader.load(), 420, 260);
         stage.setTitle("Login - Student Management");
@@ -0,0 +1,232 @@
+package com.example.studentmanagementsystem;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Optional sharded layout: a directory holding one data file per partition plus a
+ * {@code manifest.properties}. Students are partitioned by course/year or by id range.
+ * Shards are loaded in parallel and only shards touched since the last load/save are
+ * rewritten; the store tracks which records belong to each shard, so a save visits only the
+ * records of those shards. Uniqueness of id, name and email stays global because all shards feed the
+ * repository's single set of indexes.
+ * <p>
+ * A save writes every dirty shard to a temporary file first and renames them into place only
+ * once all were written, then swaps the manifest; a failed or interrupted save leaves each shard
+ * either whole and old or whole and new, never truncated.
+ */
+final class ShardedStudentStore {
+    static final String MANIFEST = "manifest.properties";
+
+    enum Strategy { COURSE, ID_RANGE }
+
+    /** Writes one shard file in the repository's plain or compressed format. */
+    interface ShardWriter {
+        void write(Path file, List<String> lines, boolean compressed) throws IOException;
+    }
+
+    private final Path dir;
+    private Strategy strategy = Strategy.COURSE;
+    private int rangeSize = 10_000;
+    private boolean compressed;
+    private final Set<String> shards = new TreeSet<>();
+    private final Set<String> dirty = new HashSet<>();
+    // Records of each shard by id, in the order they joined it
+    private final Map<String, Map<Integer, Student>> members = new HashMap<>();
+    private final Map<String, String> courseShards = new HashMap<>();
+    private long generation;
+
+    ShardedStudentStore(Path dir) {
+        this.dir = dir;
+    }
+
+    static boolean isSharded(Path path) {
+        return path != null && Files.isRegularFile(path.resolve(MANIFEST));
+    }
+
+    /** Creates a sharded layout in {@code dir} holding {@code roster}; refused if one is there already. */
+    static void create(Path dir, Strategy strategy, int rangeSize, boolean compressed,
+                       Collection<Student> roster, ShardWriter writer) throws IOException {
+        if (isSharded(dir)) throw new IOException(dir + " already holds a sharded layout");
+        Files.createDirectories(dir);
+        ShardedStudentStore store = new ShardedStudentStore(dir);
+        store.strategy = strategy;
+        store.rangeSize = rangeSize;
+        store.compressed = compressed;
+        for (Student s : roster) store.added(s);
+        store.save(writer);
+    }
+
+    Path getManifestFile() { return dir.resolve(MANIFEST); }
+
+    /** Reads the manifest and returns the shard files that exist, in manifest order. */
+    synchronized List<Path> loadManifest() throws IOException {
+        Properties p = new Properties();
+        try (Reader r = Files.newBufferedReader(getManifestFile(), StandardCharsets.UTF_8)) {
+            p.load(r);
+        }
+        strategy = Strategy.valueOf(p.getProperty("strategy", Strategy.COURSE.name()).trim().toUpperCase(Locale.ROOT));
+        rangeSize = Math.max(1, Integer.parseInt(p.getProperty("rangeSize", "10000").trim()));
+        compressed = Boolean.parseBoolean(p.getProperty("compressed", "false").trim());
+        generation = Long.parseLong(p.getProperty("generation", "0").trim());
+        shards.clear();
+        dirty.clear();
+        courseShards.clear(); // file extension may have changed with the compressed flag
+        for (String name : p.getProperty("shards", "").split(",")) {
+            if (!name.isBlank()) shards.add(name.trim());
+        }
+        List<Path> files = new ArrayList<>();
+        for (String name : shards) {
+            Path f = dir.resolve(name);
+            if (Files.exists(f)) files.add(f);
+        }
+        return files;
+    }
+
+    String shardOf(Student s) {
+        String ext = compressed ? ".txt.gz" : ".txt";
+        if (strategy == Strategy.ID_RANGE) {
+            return String.format("ids-%08d%s", s.getIdNumber() / rangeSize, ext);
+        }
+        String course = s.getCourseYear() == null ? "" : s.getCourseYear();
+        return courseShards.computeIfAbsent(course, c -> {
+            String slug = c.trim().toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9]+", "-").replaceAll("^-|-$", "");
+            return "course-" + (slug.isEmpty() ? "none" : slug) + ext;
+        });
+    }
+
+    synchronized void added(Student s) {
+        String shard = shardOf(s);
+        members.computeIfAbsent(shard, k -> new LinkedHashMap<>()).put(s.getIdNumber(), s);
+        dirty.add(shard);
+    }
+
+    synchronized void removed(Student s) {
+        remove(s, s);
+    }
+
+    /** {@code s} was edited in place; {@code before} carries its previous id and shard key. */
+    synchronized void changed(Student before, Student s) {
+        remove(before, s);
+        added(s);
+    }
+
+    // Drops the entry filed under key's id and shard, if it is still this record
+    private void remove(Student key, Student record) {
+        String shard = shardOf(key);
+        Map<Integer, Student> m = members.get(shard);
+        if (m != null && m.remove(key.getIdNumber(), record) && m.isEmpty()) members.remove(shard);
+        dirty.add(shard);
+    }
+
+    /** Replaces the membership with freshly loaded records, which match the disk. */
+    synchronized void reset(List<Student> students) {
+        members.clear();
+        for (Student s : students) {
+            members.computeIfAbsent(shardOf(s), k -> new LinkedHashMap<>()).put(s.getIdNumber(), s);
+        }
+        dirty.clear();
+    }
+
+    /**
+     * Rewrites the dirty shards (deleting ones that became empty) and the manifest.
+     * Returns the number of records written.
+     */
+    int save(ShardWriter writer) throws IOException {
+        Set<String> toWrite;
+        Map<String, List<String>> lines = new HashMap<>();
+        synchronized (this) {
+            toWrite = new HashSet<>(dirty);
+            dirty.clear();
+            for (String shard : toWrite) {
+                Map<Integer, Student> m = members.getOrDefault(shard, Map.of());
+                List<String> l = new ArrayList<>(m.size());
+                for (Student s : m.values()) l.add(s.toCsv());
+                lines.put(shard, l);
+            }
+        }
+        // Shard -> its new content beside it; the live files are untouched until all are written
+        Map<String, Path> written = new ConcurrentHashMap<>();
+        try {
+            lines.entrySet().parallelStream().filter(e -> !e.getValue().isEmpty()).forEach(e -> {
+                try {
+                    Path tmp = Files.createTempFile(dir, e.getKey(), ".tmp");
+                    written.put(e.getKey(), tmp);
+                    writer.write(tmp, e.getValue(), compressed);
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+            for (Map.Entry<String, Path> e : written.entrySet()) {
+                Files.move(e.getValue(), dir.resolve(e.getKey()), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException | UncheckedIOException e) {
+            for (Path tmp : written.values()) Files.deleteIfExists(tmp);
+            synchronized (this) {
+                dirty.addAll(toWrite); // retry on the next save
+            }
+            throw e instanceof UncheckedIOException u ? u.getCause() : (IOException) e;
+        }
+        int records = 0;
+        List<String> emptied = new ArrayList<>();
+        synchronized (this) {
+            for (Map.Entry<String, List<String>> e : lines.entrySet()) {
+                if (e.getValue().isEmpty()) {
+                    shards.remove(e.getKey());
+                    emptied.add(e.getKey());
+                } else {
+                    shards.add(e.getKey());
+                }
+                records += e.getValue().size();
+            }
+            // Always rewritten: its mtime is what other instances and the auto-reload poll watch
+            try {
+                writeManifest();
+            } catch (IOException e) {
+                dirty.addAll(toWrite);
+                throw e;
+            }
+        }
+        // Only once the manifest no longer lists them
+        for (String shard : emptied) Files.deleteIfExists(dir.resolve(shard));
+        return records;
+    }
+
+    private void writeManifest() throws IOException {
+        generation++;
+        Properties p = new Properties();
+        p.setProperty("strategy", strategy.name());
+        p.setProperty("rangeSize", Integer.toString(rangeSize));
+        p.setProperty("compressed", Boolean.toString(compressed));
+        p.setProperty("generation", Long.toString(generation));
+        p.setProperty("shards", String.join(",", shards));
+        // Written beside the manifest and renamed over it, so readers never see a partial file
+        Path tmp = Files.createTempFile(dir, MANIFEST, ".tmp");
+        try {
+            try (Writer w = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+                p.store(w, "Student shard manifest");
+            }
+            Files.move(tmp, getManifestFile(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+}
@@ -0,0 +1,493 @@
+package com.example.studentmanagementsystem;
+
+import javafx.application.Platform;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Coordinates several application instances sharing one data file.
+ * <p>
+ * Every local add/update/delete is appended to {@code <data file>.journal}, and every instance
+ * tails that journal to apply its peers' changes incrementally instead of reloading the whole
+ * file. Each record carries a version; a local change whose base version no longer matches
+ * (a peer changed the same record first) is rejected and reported as a conflict rather than
+ * overwriting the peer's edit. Writers serialize on a {@link FileChannel#lock} of
+ * {@code <data file>.lock}; readers take a shared lock.
+ * <p>
+ * The data file is the snapshot. It is rewritten by {@link #checkpoint()}, which then appends a
+ * checkpoint marker: entries before the latest marker are already in the snapshot and are only
+ * read for their versions, so loading the snapshot and replaying after the marker reproduces the
+ * shared state exactly. Once the journal grows past {@link #COMPACT_BYTES} the checkpointing
+ * instance truncates it under a new epoch, and peers that notice the epoch change reload the
+ * snapshot once.
+ * <p>
+ * Published entries win over unpublished local changes: a peer's entry that clashes with a
+ * pending local add or edit (same id, name or email) rolls the local change back. A peer's entry
+ * that still cannot be applied leaves this instance out of step with the journal, so it refuses
+ * to checkpoint until {@link #reload()}.
+ */
+public class SharedJournal {
+    private static final long COMPACT_BYTES = 4L << 20;
+    private static final String HEADER_PREFIX = "#journal epoch=";
+
+    private enum OpType { ADD, UPDATE, DELETE, CHECKPOINT }
+
+    // 'before' is the record as it was before the first local change (null for an add), for rolling back
+    private record Op(OpType type, int id, long baseVersion, Student before, Student student) {
+        // Id the record has once this op applies
+        int currentId() { return student != null ? student.getIdNumber() : id; }
+    }
+
+    /** Journal position a snapshot was read at: entries of {@code epoch} before {@code offset} are in it. */
+    public record Position(String epoch, long offset) {}
+
+    /** A snapshot read under the journal lock, with the position to replay from. */
+    public record Snapshot(StudentRepository.LoadResult data, Position position) {}
+
+    private interface LockedAction<T> {
+        T run() throws IOException;
+    }
+
+    private final StudentRepository repository;
+    private final Path journalFile;
+    private final Path lockFile;
+    private final String instanceId = UUID.randomUUID().toString().substring(0, 8);
+    private final Map<Integer, Long> versions = new HashMap<>();
+    // Unpublished local changes, at most one per record; merged slots become null
+    private final List<Op> pending = new ArrayList<>();
+    private final Map<Integer, Integer> pendingById = new HashMap<>();
+    private StudentChangeBus.Subscription localChanges;
+
+    private String epoch = "";
+    private long offset;
+    private boolean flushScheduled;
+    // Peers' entries that could not be applied since the last full reload
+    private int unapplied;
+    private Consumer<String> conflictHandler = msg -> {};
+
+    private SharedJournal(StudentRepository repository) {
+        this.repository = repository;
+        Path data = repository.getDataFile();
+        this.journalFile = data.resolveSibling(data.getFileName() + ".journal");
+        this.lockFile = data.resolveSibling(data.getFileName() + ".lock");
+    }
+
+    /**
+     * Reads the repository's data file under the shared lock, so a peer's checkpoint cannot
+     * rewrite it midway, together with the journal position it corresponds to. Safe to call
+     * off the FX thread; pass the position to {@link #attach(StudentRepository, Position)}.
+     */
+    public static Snapshot read(StudentRepository repository) throws IOException {
+        if (repository.isSharded()) return new Snapshot(repository.readFile(), null);
+        SharedJournal j = new SharedJournal(repository);
+        return j.withLock(true, () -> {
+            StudentRepository.LoadResult data = repository.readFile();
+            String epoch = j.readEpoch();
+            return new Snapshot(data, new Position(epoch, j.checkpointOffset(epoch)));
+        });
+    }
+
+    /**
+     * Starts journaling the repository's changes and applies the entries written after its
+     * snapshot, which the caller loaded from the data file without {@link #read}: the latest
+     * checkpoint marker is taken as the snapshot's position. Must run on the FX thread.
+     */
+    public static SharedJournal attach(StudentRepository repository) throws IOException {
+        return attach(repository, null);
+    }
+
+    /**
+     * Starts journaling the repository's changes and applies the entries peers wrote after
+     * {@code position}, where the repository's snapshot was read. If the journal was compacted
+     * since, the snapshot is reloaded. Must run on the FX thread.
+     */
+    public static SharedJournal attach(StudentRepository repository, Position position) throws IOException {
+        SharedJournal j = new SharedJournal(repository);
+        j.withLock(false, () -> {
+            boolean fresh = !Files.exists(j.journalFile) || Files.size(j.journalFile) == 0;
+            if (fresh) j.startEpoch();
+            j.epoch = j.readEpoch();
+            // A journal started just now has no entries the snapshot could be missing
+            if (position == null || (fresh && position.epoch().isEmpty())) {
+                j.replayLocked(j.checkpointOffset(j.epoch));
+            } else if (position.epoch().equals(j.epoch)) {
+                j.replayLocked(position.offset());
+            } else {
+                j.fullReloadLocked();
+            }
+            return null;
+        });
+        j.localChanges = repository.changes().subscribe(StudentChangeBus.Delivery.SYNC, j::onLocalChange);
+        return j;
+    }
+
+    public void setConflictHandler(Consumer<String> handler) {
+        this.conflictHandler = handler == null ? msg -> {} : handler;
+    }
+
+    public void detach() {
+        localChanges.close();
+    }
+
+    /** Applies peers' new journal entries; returns how many were applied. */
+    public int poll() throws IOException {
+        return withLock(true, this::tailLocked);
+    }
+
+    /**
+     * Publishes pending local changes, then writes the snapshot and marks its position in the
+     * journal (or compacts the journal if large). Refused while a peer's entry is unapplied: the
+     * snapshot would lack it yet be marked as containing it.
+     */
+    public void checkpoint() throws IOException {
+        List<String> conflicts = new ArrayList<>();
+        withLock(false, () -> {
+            flushLocked(conflicts);
+            if (unapplied > 0) {
+                throw new IOException(unapplied + " change(s) from other workstations could not be applied; reload the shared file before saving");
+            }
+            // The catch-up in flushLocked applied everything up to offset, so the snapshot matches it
+            repository.save();
+            if (Files.size(journalFile) > COMPACT_BYTES) {
+                startEpoch();
+                epoch = readEpoch();
+                offset = headerBytes(epoch);
+                versions.clear();
+            } else {
+                append(instanceId + "|" + OpType.CHECKPOINT + "|0|0|\n");
+            }
+            return null;
+        });
+        reportConflicts(conflicts);
+    }
+
+    /**
+     * Re-reads the snapshot and replays the journal after it, discarding unpublished local state.
+     * Returns the number of records that differ from before the reload.
+     */
+    public int reload() throws IOException {
+        clearPending();
+        return withLock(true, this::fullReloadLocked);
+    }
+
+    private void onLocalChange(List<StudentChangeBus.Change> batch) {
+        for (StudentChangeBus.Change c : batch) {
+            if (c.isRemote()) continue; // a peer's entry being applied; it is in the journal already
+            switch (c.getKind()) {
+                case ADDED -> queue(OpType.ADD, c.getAfter().getIdNumber(), null, c.getAfter());
+                case UPDATED -> queue(OpType.UPDATE, c.getBefore().getIdNumber(), c.getBefore(), c.getAfter());
+                case REMOVED -> queue(OpType.DELETE, c.getBefore().getIdNumber(), c.getBefore(), null);
+                case RESET -> { } // a load, not a local edit
+            }
+        }
+        // Publish outside the change callback: catching up may modify the list
+        if (!flushScheduled && !pendingById.isEmpty()) {
+            flushScheduled = true;
+            Platform.runLater(this::flush);
+        }
+    }
+
+    // A record with a pending op gets one merged op, based on the version the first one saw;
+    // a second op based on the same version would be rejected as a conflict with ourselves
+    private void queue(OpType type, int id, Student before, Student s) {
+        Integer at = pendingById.remove(id);
+        Op prev = at == null ? null : pending.get(at);
+        Op op = prev == null
+                ? new Op(type, id, versions.getOrDefault(id, 0L), before == null ? null : before.copy(), s)
+                : merge(prev, type, s);
+        if (at == null) {
+            pending.add(op);
+            at = pending.size() - 1;
+        } else {
+            pending.set(at, op);
+        }
+        if (op != null) pendingById.put(op.currentId(), at);
+    }
+
+    private Op merge(Op prev, OpType type, Student s) {
+        return switch (prev.type()) {
+            // Never published: an add stays an add (under its latest id) or disappears
+            case ADD -> type == OpType.DELETE ? null
+                    : new Op(OpType.ADD, s.getIdNumber(), versions.getOrDefault(s.getIdNumber(), 0L), null, s);
+            case UPDATE -> new Op(type, prev.id(), prev.baseVersion(), prev.before(), type == OpType.DELETE ? null : s);
+            // Deleted and re-added under the same id: peers see an update
+            case DELETE -> new Op(OpType.UPDATE, prev.id(), prev.baseVersion(), prev.before(), s);
+            case CHECKPOINT -> prev;
+        };
+    }
+
+    private void clearPending() {
+        pending.clear();
+        pendingById.clear();
+    }
+
+    // Drops the pending op on the record now holding 'id'; null if there is none
+    private Op dropPending(int id) {
+        Integer at = pendingById.remove(id);
+        if (at == null) return null;
+        Op op = pending.get(at);
+        pending.set(at, null);
+        return op;
+    }
+
+    private void flush() {
+        flushScheduled = false;
+        if (pendingById.isEmpty()) return;
+        List<String> conflicts = new ArrayList<>();
+        try {
+            withLock(false, () -> {
+                flushLocked(conflicts);
+                return null;
+            });
+        } catch (IOException e) {
+            conflicts.add("Could not publish changes to other workstations: " + e.getMessage());
+        }
+        reportConflicts(conflicts);
+    }
+
+    private void flushLocked(List<String> conflicts) throws IOException {
+        // Catch up first so version checks see every peer change
+        tailLocked();
+        if (pendingById.isEmpty()) {
+            clearPending();
+            return;
+        }
+        StringBuilder out = new StringBuilder();
+        for (Op op : pending) {
+            if (op == null) continue;
+            long current = versions.getOrDefault(op.id(), 0L);
+            if (current != op.baseVersion()) {
+                // The peer's version was applied by the catch-up above; ours is dropped
+                conflicts.add("Student " + op.id() + " was changed on another workstation; your "
+                        + op.type().name().toLowerCase() + " was not applied");
+                continue;
+            }
+            long next = current + 1;
+            out.append(instanceId).append('|').append(op.type()).append('|').append(op.id()).append('|')
+                    .append(next).append('|').append(op.student() == null ? "" : op.student().toCsv()).append('\n');
+            if (op.type() == OpType.UPDATE && op.student().getIdNumber() != op.id()) {
+                versions.put(op.id(), next);
+                versions.put(op.student().getIdNumber(), next);
+            } else {
+                versions.put(op.id(), next);
+            }
+        }
+        clearPending();
+        if (out.length() == 0) return;
+        append(out.toString());
+    }
+
+    // Appends whole entries at the end of the journal; caller holds the exclusive lock and is caught up
+    private void append(String entries) throws IOException {
+        byte[] bytes = entries.getBytes(StandardCharsets.UTF_8);
+        try (FileChannel ch = FileChannel.open(journalFile, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            ByteBuffer buf = ByteBuffer.wrap(bytes);
+            while (buf.hasRemaining()) ch.write(buf);
+        }
+        offset += bytes.length;
+    }
+
+    /** Applies journal entries after {@link #offset}; caller holds the lock. */
+    private int tailLocked() throws IOException {
+        if (!epoch.equals(readEpoch())) {
+            // A peer compacted the journal into a new snapshot
+            return fullReloadLocked();
+        }
+        int applied = 0;
+        for (String line : readEntries(Files.size(journalFile))) {
+            if (applyEntry(line, true)) applied++;
+        }
+        return applied;
+    }
+
+    // Entries from offset up to 'end' (whole lines only); advances offset past them
+    private List<String> readEntries(long end) throws IOException {
+        List<String> lines = new ArrayList<>();
+        if (end <= offset) return lines;
+        ByteBuffer buf = ByteBuffer.allocate(Math.toIntExact(end - offset));
+        try (FileChannel ch = FileChannel.open(journalFile, StandardOpenOption.READ)) {
+            while (buf.hasRemaining()) {
+                if (ch.read(buf, offset + buf.position()) < 0) break;
+            }
+        }
+        offset += buf.position();
+        for (String line : new String(buf.array(), 0, buf.position(), StandardCharsets.UTF_8).split("\n")) {
+            if (!line.isBlank()) lines.add(line);
+        }
+        return lines;
+    }
+
+    /**
+     * Takes versions from the entries before {@code snapshotOffset}, which the loaded snapshot
+     * already contains, then applies the ones after it. Caller holds the lock.
+     */
+    private int replayLocked(long snapshotOffset) throws IOException {
+        offset = headerBytes(epoch);
+        versions.clear();
+        for (String line : readEntries(snapshotOffset)) applyEntry(line, false);
+        return tailLocked();
+    }
+
+    // End of the latest checkpoint marker in the journal, or the end of the header if there is none
+    private long checkpointOffset(String epoch) throws IOException {
+        long header = headerBytes(epoch);
+        if (!Files.exists(journalFile)) return header;
+        byte[] bytes = Files.readAllBytes(journalFile);
+        String marker = "|" + OpType.CHECKPOINT + "|";
+        long end = header;
+        int lineStart = (int) Math.min(header, bytes.length);
+        for (int i = lineStart; i < bytes.length; i++) {
+            if (bytes[i] != '\n') continue;
+            String line = new String(bytes, lineStart, i - lineStart, StandardCharsets.UTF_8);
+            if (line.contains(marker)) end = i + 1;
+            lineStart = i + 1;
+        }
+        return end;
+    }
+
+    // Reloads the snapshot under the lock and replays after its marker; returns how many records differ
+    private int fullReloadLocked() throws IOException {
+        unapplied = 0;
+        int discarded = pendingById.size();
+        if (discarded > 0) {
+            conflictHandler.accept(discarded + " unpublished change(s) were discarded because another workstation reloaded the shared file");
+            clearPending();
+        }
+        PersistentStudentMap before = repository.snapshot();
+        repository.load();
+        epoch = readEpoch();
+        replayLocked(checkpointOffset(epoch));
+        int[] changed = { 0 };
+        before.diff(repository.snapshot(), (b, a) -> {
+            // Every record object is new after a load; count the ones whose values differ
+            if (b == null || a == null || !StudentChangeBus.diff(b, a).isEmpty()) changed[0]++;
+        });
+        return changed[0];
+    }
+
+    /** Records the entry's version and, if {@code apply}, applies a peer's entry to the repository. */
+    private boolean applyEntry(String line, boolean apply) {
+        String[] parts = line.split("\\|", 5);
+        if (parts.length < 5) return false;
+        OpType type;
+        int id;
+        long version;
+        try {
+            type = OpType.valueOf(parts[1]);
+            id = Integer.parseInt(parts[2]);
+            version = Long.parseLong(parts[3]);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        if (type == OpType.CHECKPOINT) return false;
+        Student s = type == OpType.DELETE ? null : Student.fromCsv(parts[4]);
+        versions.put(id, version);
+        if (s != null && s.getIdNumber() != id) versions.put(s.getIdNumber(), version);
+        if (!apply || parts[0].equals(instanceId)) return false; // in the snapshot, or our own entry already in memory
+        repository.changes().setRemote(true);
+        try {
+            // The peer published first: an unpublished local change to the same record loses
+            discardSuperseded(id, type);
+            if (s != null && s.getIdNumber() != id) discardSuperseded(s.getIdNumber(), type);
+            if (applyRemote(type, id, s) || (s != null && rollBackClashes(id, s) && applyRemote(type, id, s))) {
+                return true;
+            }
+            unapplied++;
+            conflictHandler.accept("Could not apply a change to student " + id
+                    + " from another workstation (duplicate id, name or email); reload the shared file before saving");
+            return false;
+        } finally {
+            repository.changes().setRemote(false);
+        }
+    }
+
+    private boolean applyRemote(OpType type, int id, Student s) {
+        if (type == OpType.DELETE) return repository.findById(id).isEmpty() || repository.delete(id);
+        if (s == null) return false;
+        if (repository.findById(id).isPresent()) return repository.update(id, s);
+        return repository.add(s);
+    }
+
+    // The peer's entry replaces or removes the record, so a pending op on it would be refused at flush
+    private void discardSuperseded(int id, OpType peerType) {
+        Op op = dropPending(id);
+        if (op == null) return;
+        conflictHandler.accept("Student " + id + " was " + pastTense(peerType) + " on another workstation; your "
+                + op.type().name().toLowerCase() + " was not applied");
+    }
+
+    /**
+     * Undoes the unpublished local adds and edits whose records hold {@code s}'s id, name or email,
+     * so a peer's entry can take their place. False if a clashing record has no pending change
+     * (then the clash is not ours to resolve) or could not be rolled back.
+     */
+    private boolean rollBackClashes(int id, Student s) {
+        Student current = repository.findById(id).orElse(null);
+        List<Student> clashes = repository.clashes(current, s);
+        for (Student clash : clashes) {
+            if (!pendingById.containsKey(clash.getIdNumber())) return false;
+        }
+        for (Student clash : clashes) {
+            Op op = dropPending(clash.getIdNumber());
+            if (!repository.restore(clash, op.before())) return false;
+            conflictHandler.accept("Your " + op.type().name().toLowerCase() + " of student " + clash.getIdNumber()
+                    + " was undone: student " + s.getIdNumber() + " from another workstation has the same id, name or email");
+        }
+        return true;
+    }
+
+    private static String pastTense(OpType type) {
+        return switch (type) {
+            case ADD -> "added";
+            case UPDATE -> "changed";
+            case DELETE -> "deleted";
+            case CHECKPOINT -> "saved";
+        };
+    }
+
+    private void startEpoch() throws IOException {
+        String header = HEADER_PREFIX + UUID.randomUUID() + "\n";
+        Files.writeString(journalFile, header, StandardCharsets.UTF_8);
+    }
+
+    private String readEpoch() throws IOException {
+        if (!Files.exists(journalFile)) return "";
+        try (BufferedReader br = Files.newBufferedReader(journalFile, StandardCharsets.UTF_8)) {
+            String first = br.readLine();
+            return first != null && first.startsWith(HEADER_PREFIX) ? first.substring(HEADER_PREFIX.length()) : "";
+        }
+    }
+
+    private static long headerBytes(String epoch) {
+        return (HEADER_PREFIX + epoch + "\n").getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    private <T> T withLock(boolean shared, LockedAction<T> action) throws IOException {
+        try (FileChannel ch = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            FileLock lock = ch.lock(0, Long.MAX_VALUE, shared);
+            try {
+                return action.run();
+            } finally {
+                lock.release();
+            }
+        }
+    }
+
+    private void reportConflicts(List<String> conflicts) {
+        for (String c : conflicts) conflictHandler.accept(c);
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.studentmanagementsystem;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JDK Flight Recorder events for the repository and UI hot paths. They cost nothing unless a
+ * recording is running, e.g. {@code -XX:StartFlightRecording=filename=sms.jfr}.
+ */
+final class SmsEvents {
+    private SmsEvents() {}
+
+    @Name("com.example.sms.Load")
+    @Label("Student File Load")
+    @Category({ "Student Management", "Repository" })
+    static class LoadEvent extends Event {
+        @Label("File") String file;
+        @Label("Records") int records;
+        @Label("Bytes") @DataAmount long bytes;
+    }
+
+    @Name("com.example.sms.Save")
+    @Label("Student File Save")
+    @Category({ "Student Management", "Repository" })
+    static class SaveEvent extends Event {
+        @Label("File") String file;
+        @Label("Records") int records;
+        @Label("Bytes") @DataAmount long bytes;
+    }
+
+    @Name("com.example.sms.AutoSave")
+    @Label("Auto-save")
+    @Description("Debounced save run on the FX thread")
+    @Category({ "Student Management", "UI" })
+    static class AutoSaveEvent extends Event {
+        @Label("Records") int records;
+        @Label("Succeeded") boolean succeeded;
+    }
+
+    @Name("com.example.sms.AutoReload")
+    @Label("Auto-reload Check")
+    @Description("Periodic file poll on the FX thread, including the reload when the file changed")
+    @Category({ "Student Management", "UI" })
+    static class AutoReloadEvent extends Event {
+        @Label("Reloaded") boolean reloaded;
+        @Label("Records") int records;
+    }
+
+    @Name("com.example.sms.Search")
+    @Label("Search Keystroke")
+    @Description("Predicate rebuild and re-filter for one change of the search text")
+    @Category({ "Student Management", "UI" })
+    static class SearchEvent extends Event {
+        @Label("Query Length") int queryLength;
+        @Label("Records") int records;
+        @Label("Matches") int matches;
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.studentmanagementsystem;
+
+import eu.hansolo.tilesfx.Tile;
+import eu.hansolo.tilesfx.TileBuilder;
+import eu.hansolo.tilesfx.chart.ChartData;
+import eu.hansolo.tilesfx.skins.BarChartItem;
+import javafx.animation.AnimationTimer;
+import javafx.fxml.FXML;
+import javafx.scene.chart.BarChart;
+import javafx.scene.chart.CategoryAxis;
+import javafx.scene.chart.NumberAxis;
+import javafx.scene.chart.XYChart;
+import javafx.scene.layout.FlowPane;
+import javafx.scene.paint.Color;
+
+import java.time.Month;
+import java.time.format.TextStyle;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+public class StatisticsController {
+    private static final int TOP_COURSES = 8;
+    private static final int TOP_DOMAINS = 5;
+    private static final Color[] PALETTE = { Tile.BLUE, Tile.GREEN, Tile.ORANGE, Tile.MAGENTA, Tile.YELLOW, Tile.RED };
+
+    @FXML private FlowPane tilePane;
+
+    private StudentStatistics statistics;
+    private Tile totalTile;
+    private Tile courseTile;
+    private Tile domainTile;
+    private final XYChart.Series<String, Number> ageSeries = new XYChart.Series<>();
+    private final XYChart.Series<String, Number> monthSeries = new XYChart.Series<>();
+
+    // Redraws only when the aggregates changed, and never more than once per frame
+    private long renderedVersion = -1;
+    private final AnimationTimer refresher = new AnimationTimer() {
+        @Override
+        public void handle(long now) {
+            if (statistics != null && statistics.getVersion() != renderedVersion) render();
+        }
+    };
+
+    @FXML
+    public void initialize() {
+        totalTile = TileBuilder.create()
+                .skinType(Tile.SkinType.NUMBER)
+                .prefSize(250, 250)
+                .title("Students")
+                .text("Total enrolled")
+                .decimals(0)
+                .build();
+        courseTile = TileBuilder.create()
+                .skinType(Tile.SkinType.BAR_CHART)
+                .prefSize(250, 250)
+                .title("Headcount by course")
+                .build();
+        domainTile = TileBuilder.create()
+                .skinType(Tile.SkinType.DONUT_CHART)
+                .prefSize(250, 250)
+                .title("Email domains")
+                .build();
+
+        for (int b = 0; b < StudentStatistics.AGE_BUCKETS; b++) {
+            ageSeries.getData().add(new XYChart.Data<>(StudentStatistics.ageBucketLabel(b), 0));
+        }
+        for (Month m : Month.values()) {
+            monthSeries.getData().add(new XYChart.Data<>(m.getDisplayName(TextStyle.SHORT, Locale.ENGLISH), 0));
+        }
+        Tile ageTile = chartTile("Age distribution", ageSeries);
+        Tile monthTile = chartTile("Birthdays by month", monthSeries);
+
+        tilePane.getChildren().addAll(totalTile, courseTile, domainTile, ageTile, monthTile);
+    }
+
+    private static Tile chartTile(String title, XYChart.Series<String, Number> series) {
+        BarChart<String, Number> chart = new BarChart<>(new CategoryAxis(), new NumberAxis());
+        chart.setAnimated(false);
+        chart.setLegendVisible(false);
+        chart.getData().add(series);
+        return TileBuilder.create()
+                .skinType(Tile.SkinType.CUSTOM)
+                .prefSize(380, 250)
+                .title(title)
+                .graphic(chart)
+                .build();
+    }
+
+    public void setStatistics(StudentStatistics statistics) {
+        this.statistics = statistics;
+        render();
+        refresher.start();
+    }
+
+    /** Stops the per-frame refresh; called when the window closes. */
+    public void dispose() {
+        refresher.stop();
+    }
+
+    private void render() {
+        renderedVersion = statistics.getVersion();
+        totalTile.setValue(statistics.getTotal());
+
+        List<BarChartItem> courseItems = new ArrayList<>();
+        int i = 0;
+        for (Map.Entry<String, Integer> e : statistics.topCourses(TOP_COURSES)) {
+            courseItems.add(new BarChartItem(e.getKey(), e.getValue(), PALETTE[i++ % PALETTE.length]));
+        }
+        courseTile.getBarChartItems().setAll(courseItems);
+
+        List<ChartData> domainData = new ArrayList<>();
+        i = 0;
+        for (Map.Entry<String, Integer> e : statistics.topDomains(TOP_DOMAINS)) {
+            domainData.add(new ChartData(e.getKey(), e.getValue(), PALETTE[i++ % PALETTE.length]));
+        }
+        domainTile.getChartData().setAll(domainData);
+
+        for (int b = 0; b < StudentStatistics.AGE_BUCKETS; b++) {
+            ageSeries.getData().get(b).setYValue(statistics.getAgeBucketCount(b));
+        }
+        for (int m = 1; m <= 12; m++) {
+            monthSeries.getData().get(m - 1).setYValue(statistics.getBirthMonthCount(m));
+        }
+    }
+}
@@ -7,13 +7,20 @@ import java.time.format.DateTimeFormatter;
 import java.util.Objects;
 
 public class Student {
-    private final IntegerProperty idNumber = new SimpleIntegerProperty(this, "idNumber", 0);
-    private final StringProperty fullName = new SimpleStringProperty(this, "fullName", "");
-    private final IntegerProperty age = new SimpleIntegerProperty(this, "age", 0);
-    private final StringProperty address = new SimpleStringProperty(this, "address", "");
-    private final StringProperty courseYear = new SimpleStringProperty(this, "courseYear", "");
-    private final ObjectProperty<LocalDate> birthday = new SimpleObjectProperty<>(this, "birthday", null);
-    private final StringProperty email = new SimpleStringProperty(this, "email", "");
+    private final IntegerProperty idNumber = new TrackedInteger(this, "idNumber");
+    private final StringProperty fullName = new TrackedString(this, "fullName");
+    private final IntegerProperty age = new TrackedInteger(this, "age");
+    private final StringProperty address = new TrackedString(this, "address");
+    private final StringProperty courseYear = new TrackedString(this, "courseYear");
+    private final ObjectProperty<LocalDate> birthday = new TrackedObject<>(this, "birthday");
+    private final StringProperty email = new TrackedString(this, "email");
+
+    // Receives in-place edits while the student belongs to a repository (one field instead of a listener per property)
+    private FieldSink fieldSink;
+
+    interface FieldSink {
+        void fieldChanged(Student student, StudentChangeBus.Field field, Object oldValue);
+    }
 
     public Student() {}
 
@@ -65,6 +72,70 @@ public class Student {
     public void setEmail(String value) { email.set(value); }
     public StringProperty emailProperty() { return email; }
 
+    void setFieldSink(FieldSink sink) { this.fieldSink = sink; }
+
+    FieldSink getFieldSink() { return fieldSink; }
+
+    /** Detached copy with the same values; edits to either side do not reach the other. */
+    Student copy() {
+        return new Student(getIdNumber(), getFullName(), getAge(), getAddress(), getCourseYear(), getBirthday(), getEmail());
+    }
+
+    /** Detached copy with one field set back to {@code oldValue}; describes the record before an in-place edit. */
+    Student copyWith(StudentChangeBus.Field field, Object oldValue) {
+        Student c = copy();
+        switch (field) {
+            case ID -> c.setIdNumber((Integer) oldValue);
+            case FULL_NAME -> c.setFullName((String) oldValue);
+            case AGE -> c.setAge((Integer) oldValue);
+            case ADDRESS -> c.setAddress((String) oldValue);
+            case COURSE_YEAR -> c.setCourseYear((String) oldValue);
+            case BIRTHDAY -> c.setBirthday((LocalDate) oldValue);
+            case EMAIL -> c.setEmail((String) oldValue);
+        }
+        return c;
+    }
+
+    private void fieldChanged(String property, Object oldValue, Object newValue) {
+        if (fieldSink != null && !Objects.equals(oldValue, newValue)) {
+            fieldSink.fieldChanged(this, StudentChangeBus.Field.ofProperty(property), oldValue);
+        }
+    }
+
+    // Properties that report edits to the owning student; the bean and name are all they carry
+    private static final class TrackedString extends SimpleStringProperty {
+        TrackedString(Student bean, String name) { super(bean, name, ""); }
+
+        @Override
+        public void set(String value) {
+            String old = get();
+            super.set(value);
+            ((Student) getBean()).fieldChanged(getName(), old, value);
+        }
+    }
+
+    private static final class TrackedInteger extends SimpleIntegerProperty {
+        TrackedInteger(Student bean, String name) { super(bean, name, 0); }
+
+        @Override
+        public void set(int value) {
+            int old = get();
+            super.set(value);
+            ((Student) getBean()).fieldChanged(getName(), old, value);
+        }
+    }
+
+    private static final class TrackedObject<T> extends SimpleObjectProperty<T> {
+        TrackedObject(Student bean, String name) { super(bean, name, null); }
+
+        @Override
+        public void set(T value) {
+            T old = get();
+            super.set(value);
+            ((Student) getBean()).fieldChanged(getName(), old, value);
+        }
+    }
+
     /**
      * Persist student to single line using '|' delimiter and custom escaping.
      * Escapes: backslash -> \\ , newline -> \n , carriage return -> \r , pipe -> \p
@@ -97,7 +168,7 @@ public class Student {
                 String address = parts[3];
                 String courseYear = parts[4];
                 LocalDate dob = null;
-                try { dob = parts[5].isBlank() ? null : LocalDate.parse(parts[5]); } catch (Exception ignored) {}
+                dob = DateRecognizer.parseIso(parts[5]);
                 String email = parts[6];
                 if (id <= 0) return null;
                 return new Student(id, fullName, age, address, courseYear, dob, email);
@@ -111,7 +182,7 @@ public class Student {
                 String courseYear = decode(parts[4]);
                 LocalDate dob = null;
                 if (!parts[5].isBlank()) {
-                    try { dob = LocalDate.parse(parts[5]); } catch (Exception ignored) {}
+                    dob = DateRecognizer.parseIso(parts[5]);
                 }
                 String email = decode(parts[6]);
                 if (id <= 0) return null;
@@ -0,0 +1,263 @@
+package com.example.studentmanagementsystem;
+
+import javafx.application.Platform;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Typed change stream of a {@link StudentRepository}: added, updated (with the changed fields) and
+ * removed records, including in-place edits of a student's properties, each stamped with a
+ * monotonically increasing generation. A wholesale load is reported as a single {@link Kind#RESET}.
+ * <p>
+ * Each subscriber gets its own coalesced batches: several changes to one record collapse into one
+ * (added then edited is still "added", added then removed disappears, and so on). Delivery is
+ * {@link Delivery#SYNC} (once per list change, inside the mutation), {@link Delivery#FX} (once per
+ * FX event, after the handler that made the changes returns) or {@link Delivery#BACKGROUND} (on a
+ * shared daemon thread). Background receivers see live {@code Student} objects; compare
+ * generations rather than re-reading fields if they need a stable view.
+ */
+public final class StudentChangeBus {
+    public enum Kind { ADDED, UPDATED, REMOVED, RESET }
+
+    public enum Delivery { SYNC, FX, BACKGROUND }
+
+    /** Student fields, named after their JavaFX properties. */
+    public enum Field {
+        ID("idNumber"), FULL_NAME("fullName"), AGE("age"), ADDRESS("address"),
+        COURSE_YEAR("courseYear"), BIRTHDAY("birthday"), EMAIL("email");
+
+        private final String property;
+
+        Field(String property) { this.property = property; }
+
+        static Field ofProperty(String name) {
+            for (Field f : values()) {
+                if (f.property.equals(name)) return f;
+            }
+            throw new IllegalArgumentException("Unknown student property: " + name);
+        }
+    }
+
+    public static final class Change {
+        private final Kind kind;
+        private final long generation;
+        private final Student before;
+        private final Student after;
+        private final Set<Field> fields;
+        private final boolean remote;
+
+        Change(Kind kind, long generation, Student before, Student after, Set<Field> fields, boolean remote) {
+            this.kind = kind;
+            this.generation = generation;
+            this.before = before;
+            this.after = after;
+            this.fields = fields;
+            this.remote = remote;
+        }
+
+        public Kind getKind() { return kind; }
+
+        public long getGeneration() { return generation; }
+
+        /** Record before the change; null for ADDED and RESET. For in-place edits this is a detached copy. */
+        public Student getBefore() { return before; }
+
+        /** Record after the change; null for REMOVED and RESET. */
+        public Student getAfter() { return after; }
+
+        /** Changed fields for UPDATED; all fields for ADDED and REMOVED; empty for RESET. */
+        public Set<Field> getFields() { return fields; }
+
+        public boolean changed(Field field) { return fields.contains(field); }
+
+        /**
+         * True when the change was replayed from another workstation's journal entry; the shared
+         * file already has it. A coalesced change is remote only if all of its parts were.
+         */
+        public boolean isRemote() { return remote; }
+
+        // Id the record is known by once this change applies
+        int currentId() { return after != null ? after.getIdNumber() : before.getIdNumber(); }
+
+        @Override
+        public String toString() {
+            return kind + "#" + generation + (kind == Kind.RESET ? "" : "[" + currentId() + " " + fields + "]");
+        }
+    }
+
+    public interface Subscriber {
+        void onChanges(List<Change> batch);
+    }
+
+    public final class Subscription implements AutoCloseable {
+        private final Delivery delivery;
+        private final Subscriber subscriber;
+        private final Coalescer pending = new Coalescer();
+        private boolean scheduled;
+
+        private Subscription(Delivery delivery, Subscriber subscriber) {
+            this.delivery = delivery;
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void close() { subscriptions.remove(this); }
+
+        private void offer(List<Change> raw) {
+            if (delivery == Delivery.SYNC) {
+                Coalescer batch = new Coalescer();
+                for (Change c : raw) batch.add(c);
+                List<Change> out = batch.drain();
+                if (!out.isEmpty()) subscriber.onChanges(out);
+                return;
+            }
+            boolean schedule;
+            synchronized (this) {
+                for (Change c : raw) pending.add(c);
+                schedule = !scheduled;
+                scheduled = true;
+            }
+            if (!schedule) return;
+            if (delivery == Delivery.FX) Platform.runLater(this::flush);
+            else background().execute(this::flush);
+        }
+
+        private void flush() {
+            List<Change> out;
+            synchronized (this) {
+                scheduled = false;
+                out = pending.drain();
+            }
+            if (!out.isEmpty() && subscriptions.contains(this)) subscriber.onChanges(out);
+        }
+    }
+
+    private static final Set<Field> ALL_FIELDS = Collections.unmodifiableSet(EnumSet.allOf(Field.class));
+    private static final Set<Field> NO_FIELDS = Collections.unmodifiableSet(EnumSet.noneOf(Field.class));
+    private static ExecutorService backgroundExecutor;
+
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+    private volatile long generation;
+    // Set while the repository applies a peer's change, see Change#isRemote
+    private boolean remote;
+
+    public Subscription subscribe(Delivery delivery, Subscriber subscriber) {
+        Subscription s = new Subscription(delivery, subscriber);
+        subscriptions.add(s);
+        return s;
+    }
+
+    /** Generation of the latest published change. */
+    public long getGeneration() { return generation; }
+
+    // ---- producer side, called by the repository on the FX thread ----
+
+    Change added(Student s) { return new Change(Kind.ADDED, ++generation, null, s, ALL_FIELDS, remote); }
+
+    Change removed(Student s) { return new Change(Kind.REMOVED, ++generation, s, null, ALL_FIELDS, remote); }
+
+    Change updated(Student before, Student after, Set<Field> fields) {
+        return new Change(Kind.UPDATED, ++generation, before, after, fields, remote);
+    }
+
+    Change reset() { return new Change(Kind.RESET, ++generation, null, null, NO_FIELDS, remote); }
+
+    /** Marks the changes produced until the next call as coming from another workstation. */
+    void setRemote(boolean remote) { this.remote = remote; }
+
+    void publish(List<Change> raw) {
+        if (raw.isEmpty()) return;
+        for (Subscription s : subscriptions) s.offer(raw);
+    }
+
+    /** Fields whose values differ between two records. */
+    public static Set<Field> diff(Student a, Student b) {
+        Set<Field> out = EnumSet.noneOf(Field.class);
+        if (a.getIdNumber() != b.getIdNumber()) out.add(Field.ID);
+        if (!Objects.equals(a.getFullName(), b.getFullName())) out.add(Field.FULL_NAME);
+        if (a.getAge() != b.getAge()) out.add(Field.AGE);
+        if (!Objects.equals(a.getAddress(), b.getAddress())) out.add(Field.ADDRESS);
+        if (!Objects.equals(a.getCourseYear(), b.getCourseYear())) out.add(Field.COURSE_YEAR);
+        if (!Objects.equals(a.getBirthday(), b.getBirthday())) out.add(Field.BIRTHDAY);
+        if (!Objects.equals(a.getEmail(), b.getEmail())) out.add(Field.EMAIL);
+        return out;
+    }
+
+    private static synchronized ExecutorService background() {
+        if (backgroundExecutor == null) {
+            backgroundExecutor = Executors.newSingleThreadExecutor(r -> {
+                Thread t = new Thread(r, "student-changes");
+                t.setDaemon(true);
+                return t;
+            });
+        }
+        return backgroundExecutor;
+    }
+
+    /** Pending changes keyed by the id each record currently has; merges follow-ups into one change. */
+    private static final class Coalescer {
+        private final List<Change> changes = new ArrayList<>();
+        private final Map<Integer, Integer> byId = new HashMap<>();
+
+        void add(Change c) {
+            if (c.kind == Kind.RESET) {
+                // Everything before a reset is superseded by it
+                changes.clear();
+                byId.clear();
+                changes.add(c);
+                return;
+            }
+            int key = c.before != null ? c.before.getIdNumber() : c.after.getIdNumber();
+            Integer at = byId.remove(key);
+            Change merged = at == null ? c : merge(changes.get(at), c);
+            if (at != null) changes.set(at, merged);
+            else changes.add(merged);
+            if (merged != null) byId.put(merged.currentId(), at != null ? at : changes.size() - 1);
+        }
+
+        private static Change merge(Change p, Change c) {
+            if (p == null) return c;
+            boolean remote = p.remote && c.remote;
+            return switch (p.kind) {
+                case ADDED -> switch (c.kind) {
+                    case UPDATED -> new Change(Kind.ADDED, c.generation, null, c.after, ALL_FIELDS, remote);
+                    case REMOVED -> null; // never observed
+                    default -> c;
+                };
+                case UPDATED -> switch (c.kind) {
+                    case UPDATED -> update(p.before, c.after, c.generation, remote);
+                    case REMOVED -> new Change(Kind.REMOVED, c.generation, p.before, null, ALL_FIELDS, remote);
+                    default -> c;
+                };
+                case REMOVED -> c.kind == Kind.ADDED ? update(p.before, c.after, c.generation, remote) : c;
+                default -> c;
+            };
+        }
+
+        private static Change update(Student before, Student after, long generation, boolean remote) {
+            Set<Field> fields = diff(before, after);
+            if (fields.isEmpty() && before == after) return null;
+            return new Change(Kind.UPDATED, generation, before, after, Collections.unmodifiableSet(fields), remote);
+        }
+
+        List<Change> drain() {
+            List<Change> out = new ArrayList<>(changes.size());
+            for (Change c : changes) {
+                if (c != null) out.add(c);
+            }
+            changes.clear();
+            byId.clear();
+            return out;
+        }
+    }
+}
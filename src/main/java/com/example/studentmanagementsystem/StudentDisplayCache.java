@@ -0,0 +1,103 @@
+package com.example.studentmanagementsystem;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Display strings for table cells, cached per record so scrolling does not re-format ids, ages and
+ * dates (text fields are shown as-is). Each entry remembers the value it was formatted from, so an
+ * in-place edit is picked up even if a cell repaints before the change event arrives; the change
+ * bus evicts removed and replaced records and empties the cache on reload. Keyed by identity
+ * because a replaced record is a new object with the same id. FX thread only.
+ */
+public class StudentDisplayCache implements AutoCloseable {
+    private static final DateTimeFormatter DATE_FMT = DateTimeFormatter.ISO_DATE;
+    // Visible rows plus recent scrolling; past this the cache starts over
+    private static final int MAX_ENTRIES = 8192;
+
+    private static final class Entry {
+        int id;
+        String idText;
+        int age;
+        String ageText;
+        LocalDate birthday;
+        String birthdayText;
+    }
+
+    private final Map<Student, Entry> cache = new IdentityHashMap<>();
+    private final StudentChangeBus.Subscription subscription;
+
+    public StudentDisplayCache(StudentRepository repository) {
+        subscription = repository.changes().subscribe(StudentChangeBus.Delivery.SYNC, this::onChanges);
+    }
+
+    /** Text for one cell; allocates only when a record's value is first shown or has changed. */
+    public String text(Student s, StudentChangeBus.Field field) {
+        return switch (field) {
+            case FULL_NAME -> s.getFullName();
+            case ADDRESS -> s.getAddress();
+            case COURSE_YEAR -> s.getCourseYear();
+            case EMAIL -> s.getEmail();
+            case ID -> {
+                Entry e = entry(s);
+                int id = s.getIdNumber();
+                if (e.idText == null || e.id != id) {
+                    e.id = id;
+                    e.idText = Integer.toString(id);
+                }
+                yield e.idText;
+            }
+            case AGE -> {
+                Entry e = entry(s);
+                int age = s.getAge();
+                if (e.ageText == null || e.age != age) {
+                    e.age = age;
+                    e.ageText = Integer.toString(age);
+                }
+                yield e.ageText;
+            }
+            case BIRTHDAY -> {
+                Entry e = entry(s);
+                LocalDate dob = s.getBirthday();
+                if (e.birthdayText == null || e.birthday != dob) {
+                    e.birthday = dob;
+                    e.birthdayText = dob == null ? "" : DATE_FMT.format(dob);
+                }
+                yield e.birthdayText;
+            }
+        };
+    }
+
+    private Entry entry(Student s) {
+        Entry e = cache.get(s);
+        if (e == null) {
+            if (cache.size() >= MAX_ENTRIES) cache.clear();
+            e = new Entry();
+            cache.put(s, e);
+        }
+        return e;
+    }
+
+    public int size() { return cache.size(); }
+
+    @Override
+    public void close() {
+        subscription.close();
+        cache.clear();
+    }
+
+    private void onChanges(List<StudentChangeBus.Change> batch) {
+        for (StudentChangeBus.Change c : batch) {
+            switch (c.getKind()) {
+                case RESET -> cache.clear();
+                case REMOVED -> cache.remove(c.getBefore());
+                // The detached copy of an in-place edit was never cached; a replaced record leaves
+                case UPDATED -> cache.remove(c.getBefore());
+                case ADDED -> { }
+            }
+        }
+    }
+}
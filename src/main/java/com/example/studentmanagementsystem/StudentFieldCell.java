@@ -0,0 +1,38 @@
+package com.example.studentmanagementsystem;
+
+import javafx.scene.control.TableCell;
+import javafx.scene.control.TableColumn;
+import javafx.util.Callback;
+
+import java.util.List;
+
+/**
+ * Table cell that renders one student field from {@link StudentDisplayCache} instead of calling
+ * {@code toString()} on the cell value, so re-using cells while scrolling allocates nothing.
+ * The column's value factory should still return the student's own property: it drives sorting
+ * and refreshes the cell when the field changes.
+ */
+public class StudentFieldCell<T> extends TableCell<Student, T> {
+    private final StudentDisplayCache cache;
+    private final StudentChangeBus.Field field;
+
+    public StudentFieldCell(StudentDisplayCache cache, StudentChangeBus.Field field) {
+        this.cache = cache;
+        this.field = field;
+    }
+
+    public static <T> Callback<TableColumn<Student, T>, TableCell<Student, T>> factory(
+            StudentDisplayCache cache, StudentChangeBus.Field field) {
+        return column -> new StudentFieldCell<>(cache, field);
+    }
+
+    @Override
+    protected void updateItem(T item, boolean empty) {
+        super.updateItem(item, empty);
+        // Same lookup TableCell uses for the value, so the text always matches the row
+        List<Student> items = getTableView() == null ? null : getTableView().getItems();
+        int index = getIndex();
+        Student s = empty || items == null || index < 0 || index >= items.size() ? null : items.get(index);
+        setText(s == null ? null : cache.text(s, field));
+    }
+}
@@ -12,11 +12,10 @@ import javafx.util.StringConverter;
 import java.net.URL;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
-import java.time.format.ResolverStyle;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Locale;
 import java.util.ResourceBundle;
+import java.util.regex.Pattern;
 
 public class StudentFormController implements Initializable {
     @FXML private Label titleLabel;
@@ -37,35 +36,10 @@ public class StudentFormController implements Initializable {
     private Student result;
 
     private PauseTransition errorClear;
+    // Input filters run on every keystroke, so compile them once
+    private static final Pattern ID_INPUT = Pattern.compile("\\d{0,10}");
+    private static final Pattern AGE_INPUT = Pattern.compile("\\d{0,3}");
     private static final DateTimeFormatter DATE_FMT = DateTimeFormatter.ISO_LOCAL_DATE;
-    private static final DateTimeFormatter[] FLEX_DATE_FORMATS = new DateTimeFormatter[] {
-            DateTimeFormatter.ISO_LOCAL_DATE,
-            DateTimeFormatter.ofPattern("M/d/uuuu", Locale.ENGLISH).withResolverStyle(ResolverStyle.STRICT),
-            DateTimeFormatter.ofPattern("MM/dd/uuuu", Locale.ENGLISH).withResolverStyle(ResolverStyle.STRICT),
-            DateTimeFormatter.ofPattern("d/M/uuuu", Locale.ENGLISH).withResolverStyle(ResolverStyle.STRICT),
-            DateTimeFormatter.ofPattern("dd/MM/uuuu", Locale.ENGLISH).withResolverStyle(ResolverStyle.STRICT),
-            DateTimeFormatter.ofPattern("uuuu/M/d", Locale.ENGLISH).withResolverStyle(ResolverStyle.STRICT),
-            DateTimeFormatter.ofPattern("uuuu/MM/dd", Locale.ENGLISH).withResolverStyle(ResolverStyle.STRICT),
-            DateTimeFormatter.ofPattern("d-M-uuuu", Locale.ENGLISH).withResolverStyle(ResolverStyle.STRICT),
-            DateTimeFormatter.ofPattern("dd-MM-uuuu", Locale.ENGLISH).withResolverStyle(ResolverStyle.STRICT),
-            DateTimeFormatter.ofPattern("M-d-uuuu", Locale.ENGLISH).withResolverStyle(ResolverStyle.STRICT),
-            DateTimeFormatter.ofPattern("MM-dd-uuuu", Locale.ENGLISH).withResolverStyle(ResolverStyle.STRICT),
-            DateTimeFormatter.ofPattern("uuuu.MM.dd", Locale.ENGLISH).withResolverStyle(ResolverStyle.STRICT),
-            DateTimeFormatter.ofPattern("MMM d, uuuu", Locale.ENGLISH).withResolverStyle(ResolverStyle.STRICT),
-            DateTimeFormatter.ofPattern("MMM d uuuu", Locale.ENGLISH).withResolverStyle(ResolverStyle.STRICT),
-            DateTimeFormatter.ofPattern("d MMM uuuu", Locale.ENGLISH).withResolverStyle(ResolverStyle.STRICT)
-    };
-
-    private static LocalDate parseFlexibleDate(String s) {
-        if (s == null) return null;
-        String t = s.trim();
-        if (t.isEmpty()) return null;
-        for (DateTimeFormatter fmt : FLEX_DATE_FORMATS) {
-            try { return LocalDate.parse(t, fmt); } catch (Exception ignored) {}
-        }
-        return null;
-    }
-
     @Override
     public void initialize(URL url, ResourceBundle resourceBundle) {
         errorClear = new PauseTransition(Duration.seconds(3));
@@ -74,14 +48,14 @@ public class StudentFormController implements Initializable {
         // ID: allow digits only, up to 10 characters
         idField.setTextFormatter(new TextFormatter<>(change -> {
             String next = change.getControlNewText();
-            if (next.matches("\\d{0,10}")) return change; // allow
+            if (ID_INPUT.matcher(next).matches()) return change; // allow
             return null; // reject non-digit edits
         }));
 
         // Age: allow digits only, up to 3 characters (0-999)
         ageField.setTextFormatter(new TextFormatter<>(change -> {
             String next = change.getControlNewText();
-            if (next.matches("\\d{0,3}")) return change; // allow
+            if (AGE_INPUT.matcher(next).matches()) return change; // allow
             return null; // reject non-digit edits
         }));
 
@@ -89,13 +63,21 @@ public class StudentFormController implements Initializable {
         birthdayPicker.setPromptText("YYYY-MM-DD or MM/DD/YYYY");
         birthdayPicker.setConverter(new StringConverter<>() {
             @Override public String toString(LocalDate date) { return date == null ? "" : date.format(DATE_FMT); }
-            @Override public LocalDate fromString(String s) { return parseFlexibleDate(s); }
+            @Override public LocalDate fromString(String s) { return DateRecognizer.parse(s); }
         });
     }
 
+    /**
+     * Prepares the form for a new add/edit. The dialog is reused, so every field and the
+     * previous result are reset here rather than relying on a fresh FXML load.
+     */
     public void setData(StudentRepository repo, Student initial, boolean isEdit) {
         this.repository = repo;
         this.isEdit = isEdit;
+        this.result = null;
+        this.originalId = null;
+        errorClear.stop();
+        errorLabel.setText("");
         if (initial != null) {
             this.originalId = initial.getIdNumber();
             idField.setText(Integer.toString(initial.getIdNumber()));
@@ -105,8 +87,19 @@ public class StudentFormController implements Initializable {
             courseField.setText(initial.getCourseYear());
             birthdayPicker.setValue(initial.getBirthday());
             emailField.setText(initial.getEmail());
+        } else {
+            idField.clear();
+            fullNameField.clear();
+            ageField.clear();
+            addressField.clear();
+            courseField.clear();
+            birthdayPicker.setValue(null);
+            emailField.clear();
         }
+        // The editor may hold uncommitted text from a cancelled edit
+        birthdayPicker.getEditor().setText(birthdayPicker.getConverter().toString(birthdayPicker.getValue()));
         titleLabel.setText(isEdit ? "Edit Student" : "Add Student");
+        idField.requestFocus();
     }
 
     public Student getResult() { return result; }
@@ -129,7 +122,7 @@ public class StudentFormController implements Initializable {
         String dobText = birthdayPicker.getEditor().getText() == null ? "" : birthdayPicker.getEditor().getText().trim();
         LocalDate parsedDob = null;
         if (!dobText.isEmpty()) {
-            parsedDob = parseFlexibleDate(dobText);
+            parsedDob = DateRecognizer.parse(dobText);
             if (parsedDob == null) {
                 localErrors.add("Birthday must be a valid date (e.g., YYYY-MM-DD or MM/DD/YYYY)");
             }
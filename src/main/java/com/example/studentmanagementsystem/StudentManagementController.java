@@ -1,13 +1,17 @@
 package com.example.studentmanagementsystem;
 
-import javafx.beans.property.SimpleStringProperty;
-import javafx.collections.ListChangeListener;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
 import javafx.collections.transformation.FilteredList;
 import javafx.collections.transformation.SortedList;
+import javafx.concurrent.Task;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Scene;
 import javafx.scene.control.*;
+import javafx.scene.input.KeyCode;
+import javafx.scene.input.KeyCodeCombination;
+import javafx.scene.input.KeyCombination;
 import javafx.stage.Modality;
 import javafx.stage.Stage;
 import javafx.animation.PauseTransition;
@@ -18,11 +22,12 @@ import javafx.util.Duration;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.time.format.DateTimeFormatter;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
-import java.util.Locale;
 import java.util.Optional;
-import java.util.function.Predicate;
+import java.util.function.BooleanSupplier;
 
 public class StudentManagementController {
     @FXML private TableView<Student> table;
@@ -31,19 +36,51 @@ public class StudentManagementController {
     @FXML private TableColumn<Student, Number> ageCol;
     @FXML private TableColumn<Student, String> addressCol;
     @FXML private TableColumn<Student, String> courseCol;
-    @FXML private TableColumn<Student, String> birthdayCol;
+    @FXML private TableColumn<Student, LocalDate> birthdayCol;
     @FXML private TableColumn<Student, String> emailCol;
 
     @FXML private TextField searchField;
+    @FXML private CheckBox fuzzyToggle;
 
     @FXML private Label errorLabel;
     @FXML private Label statusLabel;
+    @FXML private TextArea diagnosticsArea;
+    @FXML private Button undoButton;
+    @FXML private Button redoButton;
 
-    private final DateTimeFormatter DATE_FMT = DateTimeFormatter.ISO_DATE;
+    private static final double DUPLICATE_THRESHOLD = 0.5;
+    private static final int DUPLICATE_LIMIT = 500;
 
     private StudentRepository repository;
+    private UndoHistory history;
+    private StudentRowList rows;
     private FilteredList<Student> filtered;
     private SortedList<Student> sorted;
+    // Formatted ids, ages and dates for the table cells
+    private StudentDisplayCache displayCache;
+
+    // Fuzzy search: built in the background on first use, then kept current from the change bus
+    private FuzzyStudentIndex fuzzyIndex;
+    private boolean fuzzyIndexBuilding;
+    // Set when the roster is replaced during a build, whose snapshot is then out of date
+    private boolean fuzzyIndexStale;
+    // Changes published while a build runs, applied once it is done
+    private final List<StudentChangeBus.Change> pendingIndexChanges = new ArrayList<>();
+    private StudentChangeBus.Subscription fuzzyIndexSubscription;
+    // The current fuzzy result in rank order; shown instead of the filtered roster so a keystroke
+    // costs the result size rather than a pass over every student
+    private final ObservableList<Student> rankedRows = FXCollections.observableArrayList();
+    private SortedList<Student> rankedSorted;
+    // Whichever of sorted and rankedSorted the table shows
+    private SortedList<Student> shownRows;
+
+    // Student form dialog, built once and reused for every add/edit
+    private Scene formScene;
+    private StudentFormController formController;
+    private Stage formStage;
+
+    // Aggregates for the statistics window, created on first open and then kept in step
+    private StudentStatistics statistics;
 
     private PauseTransition statusClear;
     private PauseTransition errorClear;
@@ -51,32 +88,102 @@ public class StudentManagementController {
     // Auto-save and auto-reload
     private PauseTransition autoSaveDebounce;
     private Timeline autoReloadTimer;
+    private Timeline diagnosticsRefresh;
+    private StudentChangeBus.Subscription autoSaveSubscription;
+    private StudentChangeBus.Subscription rowRefreshSubscription;
+
+    // Shared change log with other instances; null when unavailable
+    private SharedJournal journal;
 
     private long lastKnownFileModifiedMillis = 0L;
     private long lastSelfSaveMillis = 0L;
 
     public void setRepository(StudentRepository repository) {
         this.repository = repository;
+        this.history = new UndoHistory(repository);
+        refreshUndoButtons();
         setupTable();
         setupSearch();
-        status("Loaded " + repository.getStudents().size() + " students from " + repository.getDataFile());
 
         // Init auto-save debounce (1s after last change)
         autoSaveDebounce = new PauseTransition(Duration.seconds(1));
         autoSaveDebounce.setOnFinished(e -> doAutoSave());
-        repository.getStudents().addListener((ListChangeListener<Student>) c -> {
-            // Any mutation triggers a debounced save
-            autoSaveDebounce.stop();
-            autoSaveDebounce.playFromStart();
+        autoSaveSubscription = repository.changes().subscribe(StudentChangeBus.Delivery.FX, batch -> {
+            // Any local edit triggers one debounced save per batch; a reload or peers' changes
+            // replayed from the shared journal have nothing new to write
+            for (StudentChangeBus.Change c : batch) {
+                if (c.getKind() != StudentChangeBus.Kind.RESET && !c.isRemote()) {
+                    autoSaveDebounce.stop();
+                    autoSaveDebounce.playFromStart();
+                    return;
+                }
+            }
         });
+    }
+
+    /**
+     * Called once the view is on screen; the scene may have been prepared in the background before login.
+     */
+    public void activate() {
+        activate(null);
+    }
+
+    /**
+     * Like {@link #activate()}, for a repository loaded through {@link SharedJournal#read}: shared
+     * journal entries are replayed from {@code snapshotPosition}, where that read left off.
+     */
+    public void activate(SharedJournal.Position snapshotPosition) {
+        status("Loaded " + repository.getStudents().size() + " students from " + repository.getDataFile());
 
         // Initialize lastKnownFileModifiedMillis
         lastKnownFileModifiedMillis = currentFileModified();
 
+        // Coordinate with other instances on the same file (single-file layout only)
+        if (!repository.isSharded()) {
+            try {
+                journal = SharedJournal.attach(repository, snapshotPosition);
+                journal.setConflictHandler(this::showError);
+            } catch (IOException e) {
+                showError("Multi-workstation sync unavailable: " + e.getMessage());
+            }
+        }
+
         // Start auto-reload poll (every 3s)
         autoReloadTimer = new Timeline(new KeyFrame(Duration.seconds(1.5), e -> maybeAutoReload()));
         autoReloadTimer.setCycleCount(Timeline.INDEFINITE);
         autoReloadTimer.play();
+
+        table.getScene().getAccelerators().put(
+                new KeyCodeCombination(KeyCode.Z, KeyCombination.SHORTCUT_DOWN), this::onUndo);
+        table.getScene().getAccelerators().put(
+                new KeyCodeCombination(KeyCode.Y, KeyCombination.SHORTCUT_DOWN), this::onRedo);
+
+        // Hidden diagnostics panel
+        table.getScene().getAccelerators().put(
+                new KeyCodeCombination(KeyCode.D, KeyCombination.SHORTCUT_DOWN, KeyCombination.SHIFT_DOWN),
+                this::toggleDiagnostics);
+    }
+
+    private void toggleDiagnostics() {
+        boolean show = !diagnosticsArea.isVisible();
+        diagnosticsArea.setVisible(show);
+        diagnosticsArea.setManaged(show);
+        if (diagnosticsRefresh == null) {
+            diagnosticsRefresh = new Timeline(new KeyFrame(Duration.seconds(1), e -> refreshDiagnostics()));
+            diagnosticsRefresh.setCycleCount(Timeline.INDEFINITE);
+        }
+        if (show) {
+            refreshDiagnostics();
+            diagnosticsRefresh.play();
+        } else {
+            diagnosticsRefresh.stop();
+        }
+    }
+
+    private void refreshDiagnostics() {
+        diagnosticsArea.setText(Metrics.report()
+                + "\n# validation rules\n" + repository.getValidator().statsReport()
+                + "\n# undo history\n" + history.size() + " steps, ~" + history.getRetainedBytes() / 1024 + " KiB retained\n");
     }
 
     @FXML
@@ -89,19 +196,51 @@ public class StudentManagementController {
     }
 
     private void setupTable() {
-        filtered = new FilteredList<>(repository.getStudents(), s -> true);
+        rows = new StudentRowList(repository.getStudents());
+        filtered = new FilteredList<>(rows, s -> true);
         sorted = new SortedList<>(filtered);
-        sorted.comparatorProperty().bind(table.comparatorProperty());
+        rankedSorted = new SortedList<>(rankedRows);
+        shownRows = sorted;
         table.setItems(sorted);
+        // In-place edits come only through the bus; re-test those rows against the filter and sort
+        rowRefreshSubscription = repository.changes().subscribe(StudentChangeBus.Delivery.FX, batch -> {
+            List<Student> updated = new ArrayList<>();
+            for (StudentChangeBus.Change c : batch) {
+                if (c.getKind() == StudentChangeBus.Kind.UPDATED) updated.add(c.getAfter());
+            }
+            rows.refresh(updated);
+        });
+        // Column sorts go through the policy (rather than a binding) so their cost is measured
+        table.setSortPolicy(tv -> {
+            resort();
+            return true;
+        });
 
+        // Value factories hand out the student's own properties (sorting, change refresh);
+        // the cells render text from the display cache so scrolling does not allocate
         idCol.setCellValueFactory(data -> data.getValue().idNumberProperty());
         fullNameCol.setCellValueFactory(data -> data.getValue().fullNameProperty());
         ageCol.setCellValueFactory(data -> data.getValue().ageProperty());
         addressCol.setCellValueFactory(data -> data.getValue().addressProperty());
         courseCol.setCellValueFactory(data -> data.getValue().courseYearProperty());
-        birthdayCol.setCellValueFactory(data -> new SimpleStringProperty(
-                data.getValue().getBirthday() == null ? "" : DATE_FMT.format(data.getValue().getBirthday())));
+        birthdayCol.setCellValueFactory(data -> data.getValue().birthdayProperty());
         emailCol.setCellValueFactory(data -> data.getValue().emailProperty());
+        // The default comparator collates strings through a new Collator per comparison, which
+        // takes seconds to sort 100k names; compare text columns case-insensitively instead
+        Comparator<String> text = Comparator.nullsFirst(String.CASE_INSENSITIVE_ORDER);
+        fullNameCol.setComparator(text);
+        addressCol.setComparator(text);
+        courseCol.setComparator(text);
+        emailCol.setComparator(text);
+
+        displayCache = new StudentDisplayCache(repository);
+        idCol.setCellFactory(StudentFieldCell.factory(displayCache, StudentChangeBus.Field.ID));
+        fullNameCol.setCellFactory(StudentFieldCell.factory(displayCache, StudentChangeBus.Field.FULL_NAME));
+        ageCol.setCellFactory(StudentFieldCell.factory(displayCache, StudentChangeBus.Field.AGE));
+        addressCol.setCellFactory(StudentFieldCell.factory(displayCache, StudentChangeBus.Field.ADDRESS));
+        courseCol.setCellFactory(StudentFieldCell.factory(displayCache, StudentChangeBus.Field.COURSE_YEAR));
+        birthdayCol.setCellFactory(StudentFieldCell.factory(displayCache, StudentChangeBus.Field.BIRTHDAY));
+        emailCol.setCellFactory(StudentFieldCell.factory(displayCache, StudentChangeBus.Field.EMAIL));
 
         // Double-click to edit
         table.setRowFactory(tv -> {
@@ -115,27 +254,119 @@ public class StudentManagementController {
         });
     }
 
+    // Column sort if one is chosen, otherwise file order (or rank order for fuzzy results);
+    // only the list on show is sorted, the other catches up when it is shown again
+    private void resort() {
+        long start = System.nanoTime();
+        shownRows.setComparator(table.getComparator());
+        Metrics.recordFx(Metrics.SORT, System.nanoTime() - start);
+    }
+
+    private void showRows(SortedList<Student> list) {
+        if (shownRows == list) return;
+        shownRows = list;
+        table.setItems(list);
+        resort();
+    }
+
     private void setupSearch() {
-        searchField.textProperty().addListener((obs, o, n) -> filtered.setPredicate(buildPredicate(n)));
-    }
-
-    private Predicate<Student> buildPredicate(String query) {
-        if (query == null || query.isBlank()) return s -> true;
-        String q = query.toLowerCase(Locale.ROOT).trim();
-        return s -> {
-            if (s == null) return false;
-            return contains(Integer.toString(s.getIdNumber()), q)
-                    || contains(s.getFullName(), q)
-                    || contains(Integer.toString(s.getAge()), q)
-                    || contains(s.getAddress(), q)
-                    || contains(s.getCourseYear(), q)
-                    || contains(s.getEmail(), q)
-                    || (s.getBirthday() != null && contains(DATE_FMT.format(s.getBirthday()), q));
+        searchField.textProperty().addListener((obs, o, n) -> applySearch(n));
+        fuzzyToggle.selectedProperty().addListener((obs, o, n) -> applySearch(searchField.getText()));
+    }
+
+    private void applySearch(String query) {
+        SmsEvents.SearchEvent event = new SmsEvents.SearchEvent();
+        event.begin();
+        long start = System.nanoTime();
+        FuzzyStudentIndex.Result ranked = null;
+        if (fuzzyToggle.isSelected()) {
+            ensureFuzzyIndex();
+            ranked = StudentSearch.fuzzySearch(fuzzyIndex, query);
+        }
+        if (ranked != null) {
+            rankedRows.setAll(StudentSearch.rankedStudents(ranked, repository.snapshot()));
+            showRows(rankedSorted);
+        } else {
+            filtered.setPredicate(StudentSearch.buildPredicate(query));
+            rankedRows.clear();
+            showRows(sorted);
+        }
+        Metrics.recordFx(Metrics.SEARCH, System.nanoTime() - start);
+        if (event.shouldCommit()) {
+            event.queryLength = query == null ? 0 : query.length();
+            event.records = repository.getStudents().size();
+            event.matches = table.getItems().size();
+            event.commit();
+        }
+    }
+
+    // Builds the fuzzy index off the FX thread the first time fuzzy mode is used
+    private void ensureFuzzyIndex() {
+        if (fuzzyIndexBuilding || fuzzyIndex != null) return;
+        if (fuzzyIndexSubscription == null) {
+            fuzzyIndexSubscription = repository.changes().subscribe(StudentChangeBus.Delivery.FX, this::onIndexChanges);
+        }
+        buildFuzzyIndex();
+    }
+
+    // The snapshot is taken on the FX thread after subscribing, so every later change reaches the index
+    private void buildFuzzyIndex() {
+        PersistentStudentMap snapshot = repository.snapshot();
+        fuzzyIndexBuilding = true;
+        fuzzyIndexStale = false;
+        pendingIndexChanges.clear();
+        Task<FuzzyStudentIndex> task = new Task<>() {
+            @Override
+            protected FuzzyStudentIndex call() {
+                long start = System.nanoTime();
+                FuzzyStudentIndex index = FuzzyStudentIndex.build(snapshot);
+                Metrics.record("search.fuzzyIndexBuild", System.nanoTime() - start);
+                return index;
+            }
         };
+        task.setOnSucceeded(e -> {
+            fuzzyIndexBuilding = false;
+            // A stale index keeps serving until the one for the replaced roster is ready
+            fuzzyIndex = task.getValue();
+            if (fuzzyIndexStale) {
+                buildFuzzyIndex();
+            } else {
+                for (StudentChangeBus.Change c : pendingIndexChanges) fuzzyIndex.apply(c);
+                pendingIndexChanges.clear();
+            }
+            // Re-run the query against the fresh index so new and edited students show up
+            if (fuzzyToggle.isSelected()) applySearch(searchField.getText());
+        });
+        task.setOnFailed(e -> {
+            fuzzyIndexBuilding = false;
+            pendingIndexChanges.clear();
+            showError("Fuzzy index failed: " + task.getException().getMessage());
+        });
+        if (fuzzyIndex == null) status("Building fuzzy search index...");
+        Thread t = new Thread(task, "fuzzy-index");
+        t.setDaemon(true);
+        t.start();
     }
 
-    private boolean contains(String value, String q) {
-        return value != null && value.toLowerCase(Locale.ROOT).contains(q);
+    // Keeps the fuzzy index in step with edits; a reload replaces the roster and needs a new build
+    private void onIndexChanges(List<StudentChangeBus.Change> batch) {
+        if (fuzzyIndexBuilding) {
+            for (StudentChangeBus.Change c : batch) {
+                if (c.getKind() == StudentChangeBus.Kind.RESET) fuzzyIndexStale = true;
+            }
+            if (!fuzzyIndexStale) pendingIndexChanges.addAll(batch);
+            return;
+        }
+        if (fuzzyIndex == null) return;
+        long start = System.nanoTime();
+        for (StudentChangeBus.Change c : batch) {
+            if (!fuzzyIndex.apply(c)) {
+                buildFuzzyIndex();
+                return;
+            }
+        }
+        Metrics.recordFx("search.fuzzyIndexUpdate", System.nanoTime() - start);
+        if (fuzzyToggle.isSelected()) applySearch(searchField.getText());
     }
 
     @FXML
@@ -149,7 +380,7 @@ public class StudentManagementController {
             showError(String.join("; ", errors));
             return;
         }
-        if (!repository.add(s)) {
+        if (!recordEdit(Metrics.ADD, "Add " + s.getIdNumber(), () -> repository.add(s))) {
             showError("Student with same ID already exists");
             return;
         }
@@ -178,7 +409,7 @@ public class StudentManagementController {
             showError("Student not found: " + originalId);
             return;
         }
-        if (!repository.update(originalId, updated)) {
+        if (!recordEdit(Metrics.EDIT, "Edit " + originalId, () -> repository.update(originalId, updated))) {
             showError("Failed to update student");
             return;
         }
@@ -196,7 +427,7 @@ public class StudentManagementController {
             return;
         }
         int id = selected.getIdNumber();
-        boolean ok = repository.delete(id);
+        boolean ok = recordEdit(Metrics.DELETE, "Delete " + id, () -> repository.delete(id));
         if (ok) {
             status("Deleted student " + id);
         } else {
@@ -204,48 +435,173 @@ public class StudentManagementController {
         }
     }
 
+    @FXML
+    public void onUndo() {
+        clearError();
+        if (!history.canUndo()) return;
+        String label = history.undoLabel();
+        long start = System.nanoTime();
+        UndoHistory.Outcome out = history.undo();
+        Metrics.recordFx(Metrics.UNDO, System.nanoTime() - start);
+        refreshUndoButtons();
+        if (out.refusal() != null) showError("Cannot undo \"" + label + "\": " + out.refusal());
+        else if (out.restored() > 0) status("Undid: " + label);
+        else showError("Nothing to undo for \"" + label + "\"; the records changed since");
+    }
+
+    @FXML
+    public void onRedo() {
+        clearError();
+        if (!history.canRedo()) return;
+        String label = history.redoLabel();
+        long start = System.nanoTime();
+        UndoHistory.Outcome out = history.redo();
+        Metrics.recordFx(Metrics.UNDO, System.nanoTime() - start);
+        refreshUndoButtons();
+        if (out.refusal() != null) showError("Cannot redo \"" + label + "\": " + out.refusal());
+        else if (out.restored() > 0) status("Redid: " + label);
+        else showError("Nothing to redo for \"" + label + "\"; the records changed since");
+    }
+
+    // Runs the edit as an undoable step; the time (dialog excluded) goes to the given metric
+    private boolean recordEdit(String metric, String label, BooleanSupplier edit) {
+        long start = System.nanoTime();
+        boolean ok = history.record(label, edit);
+        Metrics.recordFx(metric, System.nanoTime() - start);
+        refreshUndoButtons();
+        return ok;
+    }
+
+    private void refreshUndoButtons() {
+        undoButton.setDisable(!history.canUndo());
+        redoButton.setDisable(!history.canRedo());
+    }
+
+    private void clearHistory() {
+        history.clear();
+        refreshUndoButtons();
+    }
+
     @FXML
     public void onReload() {
+        long start = System.nanoTime();
         try {
-            repository.load();
+            if (journal != null) {
+                int changed = journal.reload();
+                status("Reloaded from file (" + changed + " record(s) changed)");
+            } else {
+                repository.load();
+                status("Reloaded from file");
+            }
+            clearHistory();
             lastKnownFileModifiedMillis = currentFileModified();
-            status("Reloaded from file");
         } catch (IOException e) {
             showError("Reload failed: " + e.getMessage());
         }
+        Metrics.recordFx(Metrics.MANUAL_RELOAD, System.nanoTime() - start);
     }
 
     @FXML
     public void onSave() {
+        long start = System.nanoTime();
         try {
-            repository.save();
+            saveNow();
             lastSelfSaveMillis = System.currentTimeMillis();
             lastKnownFileModifiedMillis = currentFileModified();
             status("Saved to file: " + repository.getDataFile());
         } catch (IOException e) {
             showError("Save failed: " + e.getMessage());
         }
+        Metrics.recordFx(Metrics.MANUAL_SAVE, System.nanoTime() - start);
+    }
+
+    @FXML
+    public void onStatistics() {
+        if (statistics == null) statistics = new StudentStatistics(repository);
+        try {
+            FXMLLoader loader = new FXMLLoader(SMSApplication.class.getResource("statistics-view.fxml"));
+            Scene scene = new Scene(loader.load(), 800, 560);
+            StatisticsController ctrl = loader.getController();
+            ctrl.setStatistics(statistics);
+            Stage stage = new Stage();
+            stage.initOwner(table.getScene().getWindow());
+            stage.setTitle("Statistics");
+            stage.setScene(scene);
+            stage.setOnHidden(e -> ctrl.dispose());
+            stage.show();
+        } catch (IOException e) {
+            showError("Failed to open statistics: " + e.getMessage());
+        }
+    }
+
+    @FXML
+    public void onFindDuplicates() {
+        clearError();
+        // Detect on an immutable snapshot so the table stays editable while the job runs
+        PersistentStudentMap snapshot = repository.snapshot();
+        Task<NearDuplicateDetector.Scan> task = new Task<>() {
+            @Override
+            protected NearDuplicateDetector.Scan call() {
+                return new NearDuplicateDetector().findCandidates(snapshot.values(), DUPLICATE_THRESHOLD, DUPLICATE_LIMIT);
+            }
+        };
+        task.setOnSucceeded(e -> showDuplicateReview(task.getValue()));
+        task.setOnFailed(e -> showError("Duplicate scan failed: " + task.getException().getMessage()));
+        status("Scanning " + snapshot.size() + " students for duplicates...");
+        Thread t = new Thread(task, "duplicate-scan");
+        t.setDaemon(true);
+        t.start();
+    }
+
+    private void showDuplicateReview(NearDuplicateDetector.Scan scan) {
+        try {
+            FXMLLoader loader = new FXMLLoader(SMSApplication.class.getResource("duplicate-review.fxml"));
+            Scene scene = new Scene(loader.load(), 780, 420);
+            DuplicateReviewController ctrl = loader.getController();
+            ctrl.setData(repository, history, scan);
+            Stage stage = new Stage();
+            stage.initModality(Modality.WINDOW_MODAL);
+            stage.initOwner(table.getScene().getWindow());
+            stage.setTitle("Review Possible Duplicates");
+            stage.setScene(scene);
+            stage.setOnHidden(e -> refreshUndoButtons());
+            stage.show();
+        } catch (IOException e) {
+            showError("Failed to open duplicate review: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Parses the student form once. Safe to call off the FX thread because the form scene is
+     * not attached to a window yet; the login preload uses this to warm the dialog.
+     */
+    public void prepareStudentForm() throws IOException {
+        if (formController != null) return;
+        FXMLLoader loader = new FXMLLoader(SMSApplication.class.getResource("student-form.fxml"));
+        formScene = new Scene(loader.load(), 450, 400);
+        formController = loader.getController();
     }
 
     private Optional<Student> openStudentDialog(Student initial, boolean isEdit) {
         try {
-            FXMLLoader loader = new FXMLLoader(SMSApplication.class.getResource("student-form.fxml"));
-            Scene scene = new Scene(loader.load(), 450, 400);
-            StudentFormController ctrl = loader.getController();
-            ctrl.setData(repository, initial, isEdit);
-            Stage dialog = new Stage();
-            dialog.initModality(Modality.WINDOW_MODAL);
-            dialog.initOwner(table.getScene().getWindow());
-            dialog.setTitle(isEdit ? "Edit Student" : "Add Student");
-            dialog.setScene(scene);
-            dialog.setMaximized(false);
-            dialog.setResizable(false);
-            dialog.showAndWait();
-            return Optional.ofNullable(ctrl.getResult());
+            prepareStudentForm();
         } catch (IOException e) {
             showError("Failed to open form: " + e.getMessage());
             return Optional.empty();
         }
+        if (formStage == null) {
+            formStage = new Stage();
+            formStage.initModality(Modality.WINDOW_MODAL);
+            formStage.initOwner(table.getScene().getWindow());
+            formStage.setScene(formScene);
+            formStage.setMaximized(false);
+            formStage.setResizable(false);
+        }
+        // setData resets every field, so nothing leaks from the previous add/edit
+        formController.setData(repository, initial, isEdit);
+        formStage.setTitle(isEdit ? "Edit Student" : "Add Student");
+        formStage.showAndWait();
+        return Optional.ofNullable(formController.getResult());
     }
 
     private void status(String msg) {
@@ -266,35 +622,70 @@ public class StudentManagementController {
     }
 
     private void doAutoSave() {
+        SmsEvents.AutoSaveEvent event = new SmsEvents.AutoSaveEvent();
+        event.begin();
+        long start = System.nanoTime();
         try {
-            repository.save();
+            saveNow();
             lastSelfSaveMillis = System.currentTimeMillis();
             lastKnownFileModifiedMillis = currentFileModified();
+            event.succeeded = true;
             // Quiet status to avoid spam; uncomment to show
             // status("Auto-saved");
         } catch (IOException ex) {
+            Metrics.increment("ui.autoSaveFailures");
             showError("Auto-save failed: " + ex.getMessage());
         }
+        Metrics.recordFx(Metrics.AUTO_SAVE, System.nanoTime() - start);
+        event.records = repository.getStudents().size();
+        event.commit();
     }
 
     private void maybeAutoReload() {
+        SmsEvents.AutoReloadEvent event = new SmsEvents.AutoReloadEvent();
+        event.begin();
+        long start = System.nanoTime();
+        if (journal != null) {
+            // Peers' changes arrive through the shared journal; no full reload on mtime changes
+            try {
+                int applied = journal.poll();
+                event.reloaded = applied > 0;
+                if (applied > 0) status("Applied " + applied + " change(s) from other workstations");
+            } catch (IOException ex) {
+                showError("Sync failed: " + ex.getMessage());
+            }
+            Metrics.recordFx(Metrics.AUTO_RELOAD, System.nanoTime() - start);
+            event.commit();
+            return;
+        }
         long mod = currentFileModified();
-        if (mod <= 0) return; // file may not exist yet
         // If file changed after our last known and not just from our own save, reload
-        if (mod > lastKnownFileModifiedMillis && mod > lastSelfSaveMillis + 400) { // 400ms guard
+        // (mod is 0 while the file does not exist yet; the check still counts as FX time)
+        if (mod > 0 && mod > lastKnownFileModifiedMillis && mod > lastSelfSaveMillis + 400) { // 400ms guard
             try {
                 repository.load();
+                clearHistory();
                 lastKnownFileModifiedMillis = mod;
+                event.reloaded = true;
                 status("Auto-reloaded from file");
             } catch (IOException ex) {
                 showError("Auto-reload failed: " + ex.getMessage());
             }
         }
+        Metrics.recordFx(Metrics.AUTO_RELOAD, System.nanoTime() - start);
+        if (event.shouldCommit()) {
+            event.records = repository.getStudents().size();
+            event.commit();
+        }
+    }
+
+    private void saveNow() throws IOException {
+        if (journal != null) journal.checkpoint(); else repository.save();
     }
 
     private long currentFileModified() {
         try {
-            Path p = repository.getDataFile();
+            Path p = repository.getWatchFile();
             if (p == null || !Files.exists(p)) return 0L;
             return Files.getLastModifiedTime(p).toMillis();
         } catch (IOException e) {
@@ -306,13 +697,20 @@ public class StudentManagementController {
     public void onLogout() {
         // Attempt to save before leaving
         try {
-            repository.save();
+            saveNow();
         } catch (IOException e) {
             // best-effort; staying silent here or could show a brief message
         }
+        if (journal != null) journal.detach();
+        if (autoSaveSubscription != null) autoSaveSubscription.close();
+        if (fuzzyIndexSubscription != null) fuzzyIndexSubscription.close();
+        if (rowRefreshSubscription != null) rowRefreshSubscription.close();
+        if (statistics != null) statistics.close();
+        if (displayCache != null) displayCache.close();
         // Stop timers
         if (autoSaveDebounce != null) autoSaveDebounce.stop();
         if (autoReloadTimer != null) autoReloadTimer.stop();
+        if (diagnosticsRefresh != null) diagnosticsRefresh.stop();
         if (statusClear != null) statusClear.stop();
         if (errorClear != null) errorClear.stop();
 
@@ -1,33 +1,63 @@
 package com.example.studentmanagementsystem;
 
 import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
 
 import java.io.BufferedReader;
 import java.io.BufferedWriter;
 import java.io.IOException;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.time.LocalDate;
 import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Consumer;
 
 public class StudentRepository {
     private final ObservableList<Student> students = FXCollections.observableArrayList();
     private final Path dataFile;
 
+    // Lookup indexes kept in step with the list (keys are normalized the same way as load)
+    private Map<Integer, Student> byId = new HashMap<>();
+    private Map<String, Student> byName = new HashMap<>();
+    private Map<String, Student> byEmail = new HashMap<>();
+    private boolean indexSuspended = false;
+    // Persistent id -> student view of the list; each change copies O(log n) nodes
+    private volatile PersistentStudentMap snapshot = PersistentStudentMap.empty();
+    // Typed, coalesced change stream for indexes, caches and persistence
+    private final StudentChangeBus changes = new StudentChangeBus();
+    private final Student.FieldSink fieldSink = this::onFieldChanged;
+
+    // Write gzip when the file was gzip on load or is named *.gz
+    private volatile boolean compressed;
+    // Non-null when dataFile is a sharded directory
+    private final ShardedStudentStore shards;
+
+    private static final StudentValidator STANDALONE_VALIDATOR = new StudentValidator(null);
+    private final StudentValidator validator = new StudentValidator(this);
+
     public StudentRepository() {
         this(defaultDataFile());
     }
 
     private static Path defaultDataFile() {
         Path projectDir = Paths.get(System.getProperty("user.dir"));
+        Path sharded = projectDir.resolve("students.d");
+        if (ShardedStudentStore.isSharded(sharded)) return sharded;
         Path target = projectDir.resolve("students.txt");
+        Path gz = projectDir.resolve("students.txt.gz");
+        if (!Files.exists(target) && Files.exists(gz)) return gz;
         Path old = Paths.get(System.getProperty("user.home"), "students.txt");
         if (!Files.exists(target) && Files.exists(old)) {
             try { Files.copy(old, target); } catch (IOException ignored) {}
@@ -37,6 +67,72 @@ public class StudentRepository {
 
     public StudentRepository(Path file) {
         this.dataFile = file;
+        this.compressed = file.getFileName() != null && file.getFileName().toString().endsWith(".gz");
+        this.shards = ShardedStudentStore.isSharded(file) ? new ShardedStudentStore(file) : null;
+        students.addListener((ListChangeListener<Student>) this::updateIndexes);
+    }
+
+    private void updateIndexes(ListChangeListener.Change<? extends Student> c) {
+        if (indexSuspended) return;
+        PersistentStudentMap next = snapshot;
+        List<StudentChangeBus.Change> events = new ArrayList<>();
+        while (c.next()) {
+            List<? extends Student> removed = c.getRemoved();
+            List<? extends Student> added = c.getAddedSubList();
+            for (Student s : removed) {
+                if (shards != null) shards.removed(s);
+                if (next.get(s.getIdNumber()) == s) next = next.remove(s.getIdNumber());
+                if (s.getFieldSink() == fieldSink) s.setFieldSink(null);
+                unindex(s, s.getIdNumber(), s.getFullName(), s.getEmail());
+            }
+            for (Student s : added) {
+                if (shards != null) shards.added(s);
+                next = next.put(s);
+                s.setFieldSink(fieldSink);
+                index(s);
+            }
+            // A same-size replace is an update (list.set); anything else is removes plus adds
+            if (c.wasReplaced() && removed.size() == added.size()) {
+                for (int i = 0; i < removed.size(); i++) {
+                    Student before = removed.get(i), after = added.get(i);
+                    events.add(changes.updated(before, after, StudentChangeBus.diff(before, after)));
+                }
+            } else {
+                for (Student s : removed) events.add(changes.removed(s));
+                for (Student s : added) events.add(changes.added(s));
+            }
+        }
+        snapshot = next;
+        changes.publish(events);
+    }
+
+    private void index(Student s) {
+        byId.put(s.getIdNumber(), s);
+        String normName = normalizeName(s.getFullName());
+        if (!normName.isEmpty()) byName.put(normName, s);
+        String normEmail = normalizeEmail(s.getEmail());
+        if (!normEmail.isEmpty()) byEmail.put(normEmail, s);
+    }
+
+    private void unindex(Student s, int id, String fullName, String email) {
+        byId.remove(id, s);
+        byName.remove(normalizeName(fullName), s);
+        byEmail.remove(normalizeEmail(email), s);
+    }
+
+    // In-place edit of a student in the list: re-key the indexes, then report it like any update
+    private void onFieldChanged(Student s, StudentChangeBus.Field field, Object oldValue) {
+        Student before = s.copyWith(field, oldValue);
+        if (shards != null) shards.changed(before, s);
+        if (field == StudentChangeBus.Field.ID || field == StudentChangeBus.Field.FULL_NAME
+                || field == StudentChangeBus.Field.EMAIL) {
+            unindex(s, before.getIdNumber(), before.getFullName(), before.getEmail());
+            index(s);
+        }
+        if (field == StudentChangeBus.Field.ID) {
+            snapshot = snapshot.removeRekeyed(before.getIdNumber(), s).put(s);
+        }
+        changes.publish(List.of(changes.updated(before, s, Set.of(field))));
     }
 
     public ObservableList<Student> getStudents() {
@@ -45,81 +141,194 @@ public class StudentRepository {
 
     public Path getDataFile() { return dataFile; }
 
+    /** Added/updated/removed stream for everything derived from the roster; see {@link StudentChangeBus}. */
+    public StudentChangeBus changes() { return changes; }
+
+    /**
+     * Immutable point-in-time view of all students, safe to read from any thread. Taking one is
+     * O(1); it shares structure with the live state, so holding it costs only what changes later.
+     */
+    public PersistentStudentMap snapshot() { return snapshot; }
+
+    public boolean isCompressed() { return compressed; }
+
+    public boolean isSharded() { return shards != null; }
+
+    /** File whose modification time signals an external change (the manifest for a sharded layout). */
+    public Path getWatchFile() { return shards != null ? shards.getManifestFile() : dataFile; }
+
+    /**
+     * Creates an empty sharded layout in {@code dir}, partitioned by course/year or by id ranges
+     * of {@code rangeSize}; open it with {@code new StudentRepository(dir)}.
+     */
+    public static void createShardedLayout(Path dir, boolean byCourse, int rangeSize, boolean compressed) throws IOException {
+        createShardedLayout(dir, byCourse, rangeSize, compressed, List.of());
+    }
+
+    /**
+     * Creates a sharded layout in {@code dir} holding {@code roster}, e.g. the students of a loaded
+     * repository. Refused if any student is invalid or repeats an id, name or email of the roster,
+     * since loading would silently drop the later copy.
+     */
+    public static void createShardedLayout(Path dir, boolean byCourse, int rangeSize, boolean compressed,
+                                           Collection<Student> roster) throws IOException {
+        List<List<String>> errors = STANDALONE_VALIDATOR.validateAll(roster);
+        Iterator<Student> it = roster.iterator();
+        for (List<String> e : errors) {
+            Student s = it.next();
+            if (!e.isEmpty()) throw new IOException("Student " + s.getIdNumber() + ": " + String.join(", ", e));
+        }
+        ShardedStudentStore.create(dir,
+                byCourse ? ShardedStudentStore.Strategy.COURSE : ShardedStudentStore.Strategy.ID_RANGE,
+                rangeSize, compressed, roster, StudentRepository::writeLines);
+    }
+
+    /**
+     * Moves an existing single-file roster ({@code students.txt}, plain or gzip) into a new sharded
+     * layout in {@code dir}; the source file is left as it is. Returns the number of students.
+     */
+    public static int importShardedLayout(Path source, Path dir, boolean byCourse, int rangeSize, boolean compressed) throws IOException {
+        if (!Files.exists(source)) throw new NoSuchFileException(source.toString());
+        LoadResult data = new StudentRepository(source).readFile();
+        createShardedLayout(dir, byCourse, rangeSize, compressed, data.getStudents());
+        return data.size();
+    }
+
     public void load() throws IOException {
-        students.clear();
-        if (!Files.exists(dataFile)) {
-            // create file and return empty list
-            try { Files.createFile(dataFile); } catch (IOException ignored) {}
-            return;
+        apply(readFile());
+    }
+
+    /**
+     * Parses the data file into a detached result without touching the observable list,
+     * so it can run on a background thread. Duplicate ids, names and emails are dropped
+     * while the lookup indexes are built in the same pass.
+     */
+    public LoadResult readFile() throws IOException {
+        SmsEvents.LoadEvent event = new SmsEvents.LoadEvent();
+        event.begin();
+        long start = System.nanoTime();
+        LoadResult result = parseFile();
+        result.snapshot = PersistentStudentMap.of(result.students);
+        Metrics.record(Metrics.LOAD, System.nanoTime() - start);
+        Metrics.add("repository.loadedRecords", result.size());
+        if (event.shouldCommit()) {
+            event.file = dataFile.toString();
+            event.records = result.size();
+            event.bytes = Files.exists(dataFile) ? Files.size(dataFile) : 0;
+            event.commit();
         }
-        try (BufferedReader br = Files.newBufferedReader(dataFile, StandardCharsets.UTF_8)) {
-            String line;
-            List<String> legacyBuffer = new ArrayList<>(7);
-            Set<Integer> seenIds = new HashSet<>(); // track duplicates
-            Set<String> seenNames = new HashSet<>(); // track duplicate full names (case-insensitive, trimmed)
-            Set<String> seenEmails = new HashSet<>(); // new: track emails
-            while ((line = br.readLine()) != null) {
-                if (line.isBlank()) continue;
-                if (line.contains("|")) {
-                    // Flush any incomplete legacy buffer before proceeding
-                    if (!legacyBuffer.isEmpty()) {
-                        // If we somehow have exactly 7 lines, attempt parse
-                        if (legacyBuffer.size() == 7) {
-                            Student legacy = Student.fromCsv(String.join("\n", legacyBuffer));
-                            if (legacy != null && legacy.getIdNumber() > 0) {
-                                String normName = normalizeName(legacy.getFullName());
-                                String normEmail = normalizeEmail(legacy.getEmail());
-                                if (seenIds.add(legacy.getIdNumber()) &&
-                                        (normName.isEmpty() || seenNames.add(normName)) &&
-                                        (normEmail.isEmpty() || seenEmails.add(normEmail))) {
-                                    students.add(legacy);
-                                }
-                            }
-                        }
-                        legacyBuffer.clear();
+        return result;
+    }
+
+    private LoadResult parseFile() throws IOException {
+        LoadResult result = new LoadResult();
+        try {
+            if (shards != null) {
+                // Parse shards in parallel; de-duplicate across all of them afterwards in manifest order
+                List<List<Student>> parsed = shards.loadManifest().parallelStream().map(f -> {
+                    List<Student> out = new ArrayList<>();
+                    try {
+                        readInto(f, out::add);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
                     }
-                    Student s = Student.fromCsv(line);
-                    if (s != null && s.getIdNumber() > 0) {
-                        String normName = normalizeName(s.getFullName());
-                        String normEmail = normalizeEmail(s.getEmail());
-                        if (seenIds.add(s.getIdNumber()) &&
-                                (normName.isEmpty() || seenNames.add(normName)) &&
-                                (normEmail.isEmpty() || seenEmails.add(normEmail))) {
-                            students.add(s);
-                        }
+                    return out;
+                }).toList();
+                for (List<Student> shard : parsed) shard.forEach(result::accept);
+                return result;
+            }
+            if (!Files.exists(dataFile)) {
+                // create file and return empty list
+                try { Files.createFile(dataFile); } catch (IOException ignored) {}
+                return result;
+            }
+            if (readInto(dataFile, result::accept)) compressed = true;
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return result;
+    }
+
+    /** Parses one plain or gzip file into {@code sink} in file order; returns true if it was gzip. */
+    private static boolean readInto(Path file, Consumer<Student> sink) throws IOException {
+        if (Files.size(file) > 0 && CompressedStudentFile.isGzip(file)) {
+            List<long[]> blocks = CompressedStudentFile.blocks(file);
+            if (blocks == null) {
+                CompressedStudentFile.readSequential(file, br -> parseLines(br, sink));
+            } else {
+                // Inflate and parse blocks in parallel, then hand records over in file order
+                List<List<Student>> parsed = blocks.parallelStream().map(b -> {
+                    List<Student> out = new ArrayList<>();
+                    try {
+                        byte[] text = CompressedStudentFile.inflateBlock(file, b[0], b[1]);
+                        parseLines(new BufferedReader(new StringReader(new String(text, StandardCharsets.UTF_8))), out::add);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
                     }
-                } else {
-                    // Legacy format line (no pipe). Collect until 7 lines.
-                    legacyBuffer.add(line);
+                    return out;
+                }).toList();
+                for (List<Student> block : parsed) block.forEach(sink);
+            }
+            return true;
+        }
+        try (BufferedReader br = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            parseLines(br, sink);
+        }
+        return false;
+    }
+
+    private static void parseLines(BufferedReader br, Consumer<Student> sink) throws IOException {
+        String line;
+        List<String> legacyBuffer = new ArrayList<>(7);
+        while ((line = br.readLine()) != null) {
+            if (line.isBlank()) continue;
+            if (line.contains("|")) {
+                // Flush any incomplete legacy buffer before proceeding
+                if (!legacyBuffer.isEmpty()) {
+                    // If we somehow have exactly 7 lines, attempt parse
                     if (legacyBuffer.size() == 7) {
-                        Student legacy = Student.fromCsv(String.join("\n", legacyBuffer));
-                        if (legacy != null && legacy.getIdNumber() > 0) {
-                            String normName = normalizeName(legacy.getFullName());
-                            String normEmail = normalizeEmail(legacy.getEmail());
-                            if (seenIds.add(legacy.getIdNumber()) &&
-                                    (normName.isEmpty() || seenNames.add(normName)) &&
-                                    (normEmail.isEmpty() || seenEmails.add(normEmail))) {
-                                students.add(legacy);
-                            }
-                        }
-                        legacyBuffer.clear();
+                        sink.accept(Student.fromCsv(String.join("\n", legacyBuffer)));
                     }
+                    legacyBuffer.clear();
                 }
-            }
-            // In case file ended mid-legacy record (ignore if incomplete)
-            if (legacyBuffer.size() == 7) {
-                Student legacy = Student.fromCsv(String.join("\n", legacyBuffer));
-                if (legacy != null && legacy.getIdNumber() > 0) {
-                    String normName = normalizeName(legacy.getFullName());
-                    String normEmail = normalizeEmail(legacy.getEmail());
-                    if (seenIds.add(legacy.getIdNumber()) &&
-                            (normName.isEmpty() || seenNames.add(normName)) &&
-                            (normEmail.isEmpty() || seenEmails.add(normEmail))) {
-                        students.add(legacy);
-                    }
+                sink.accept(Student.fromCsv(line));
+            } else {
+                // Legacy format line (no pipe). Collect until 7 lines.
+                legacyBuffer.add(line);
+                if (legacyBuffer.size() == 7) {
+                    sink.accept(Student.fromCsv(String.join("\n", legacyBuffer)));
+                    legacyBuffer.clear();
                 }
             }
         }
+        // In case file ended mid-legacy record (ignore if incomplete)
+        if (legacyBuffer.size() == 7) {
+            sink.accept(Student.fromCsv(String.join("\n", legacyBuffer)));
+        }
+    }
+
+    /**
+     * Publishes a previously read result. Must run on the FX thread once the list is
+     * bound to a table; the indexes built by {@link #readFile()} are installed as-is.
+     */
+    public void apply(LoadResult result) {
+        for (Student s : students) {
+            if (s.getFieldSink() == fieldSink) s.setFieldSink(null);
+        }
+        indexSuspended = true;
+        try {
+            students.setAll(result.students);
+        } finally {
+            indexSuspended = false;
+        }
+        for (Student s : result.students) s.setFieldSink(fieldSink);
+        byId = result.byId;
+        byName = result.byName;
+        byEmail = result.byEmail;
+        snapshot = result.snapshot != null ? result.snapshot : PersistentStudentMap.of(result.students);
+        // Freshly loaded shards match the disk
+        if (shards != null) shards.reset(result.students);
+        changes.publish(List.of(changes.reset()));
     }
 
     private static String normalizeName(String name) {
@@ -135,11 +344,35 @@ public class StudentRepository {
     }
 
     public void save() throws IOException {
-        List<String> lines = new ArrayList<>();
-        for (Student s : students) {
-            lines.add(s.toCsv());
+        SmsEvents.SaveEvent event = new SmsEvents.SaveEvent();
+        event.begin();
+        long start = System.nanoTime();
+        int records;
+        if (shards != null) {
+            records = shards.save(StudentRepository::writeLines);
+        } else {
+            List<String> lines = new ArrayList<>();
+            for (Student s : students) {
+                lines.add(s.toCsv());
+            }
+            writeLines(dataFile, lines, compressed);
+            records = lines.size();
+        }
+        Metrics.record(Metrics.SAVE, System.nanoTime() - start);
+        if (event.shouldCommit()) {
+            event.file = dataFile.toString();
+            event.records = records;
+            event.bytes = Files.isRegularFile(dataFile) ? Files.size(dataFile) : 0;
+            event.commit();
         }
-        try (BufferedWriter bw = Files.newBufferedWriter(dataFile, StandardCharsets.UTF_8)) {
+    }
+
+    private static void writeLines(Path file, List<String> lines, boolean compressed) throws IOException {
+        if (compressed) {
+            CompressedStudentFile.write(file, lines);
+            return;
+        }
+        try (BufferedWriter bw = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
             for (String l : lines) {
                 bw.write(l);
                 bw.newLine();
@@ -149,16 +382,16 @@ public class StudentRepository {
 
     public Optional<Student> findById(int id) {
         if (id <= 0) return Optional.empty();
-        return students.stream().filter(s -> id == s.getIdNumber()).findFirst();
+        return Optional.ofNullable(byId.get(id));
     }
 
     public boolean add(Student s) {
         if (s == null) return false;
         if (findById(s.getIdNumber()).isPresent()) return false;
         String normName = normalizeName(s.getFullName());
-        if (!normName.isEmpty() && students.stream().anyMatch(o -> normalizeName(o.getFullName()).equals(normName))) return false;
+        if (!normName.isEmpty() && byName.containsKey(normName)) return false;
         String normEmail = normalizeEmail(s.getEmail());
-        if (!normEmail.isEmpty() && students.stream().anyMatch(o -> normalizeEmail(o.getEmail()).equals(normEmail))) return false;
+        if (!normEmail.isEmpty() && byEmail.containsKey(normEmail)) return false;
         return students.add(s);
     }
 
@@ -168,52 +401,104 @@ public class StudentRepository {
             return false;
         }
         String normName = normalizeName(updated.getFullName());
-        if (!normName.isEmpty() && students.stream().anyMatch(o -> o.getIdNumber() != originalId && normalizeName(o.getFullName()).equals(normName))) return false;
+        Student sameName = normName.isEmpty() ? null : byName.get(normName);
+        if (sameName != null && sameName.getIdNumber() != originalId) return false;
         String normEmail = normalizeEmail(updated.getEmail());
-        if (!normEmail.isEmpty() && students.stream().anyMatch(o -> o.getIdNumber() != originalId && normalizeEmail(o.getEmail()).equals(normEmail))) return false;
-        for (int i = 0; i < students.size(); i++) {
-            if (originalId == students.get(i).getIdNumber()) {
-                students.set(i, updated);
-                return true;
-            }
-        }
-        return false;
+        Student sameEmail = normEmail.isEmpty() ? null : byEmail.get(normEmail);
+        if (sameEmail != null && sameEmail.getIdNumber() != originalId) return false;
+        Student original = byId.get(originalId);
+        int i = original == null ? -1 : students.indexOf(original);
+        if (i < 0) return false;
+        students.set(i, updated);
+        return true;
     }
 
     public boolean delete(int id) {
         return students.removeIf(s -> s.getIdNumber() == id);
     }
 
+    /**
+     * Swaps {@code current} (null to insert) for {@code target} (null to remove); used to restore
+     * a previous version of a record. Refused (false) if {@link #restoreConflict} objects.
+     */
+    boolean restore(Student current, Student target) {
+        if (restoreConflict(current, target) != null) return false;
+        if (current == null) return target != null && students.add(target);
+        int i = students.indexOf(current);
+        if (i < 0 || students.get(i) != current) return false;
+        if (target == null) students.remove(i); else students.set(i, target);
+        return true;
+    }
+
+    /**
+     * Why {@code target} cannot take the place of {@code current}: another record now holds its
+     * id, name or email. Null if it can. Field validation is skipped since the version was valid.
+     */
+    String restoreConflict(Student current, Student target) {
+        if (target == null) return null;
+        Student other = byId.get(target.getIdNumber());
+        if (other != null && other != current) return "another student now has ID " + target.getIdNumber();
+        String normName = normalizeName(target.getFullName());
+        other = normName.isEmpty() ? null : byName.get(normName);
+        if (other != null && other != current) return "student " + other.getIdNumber() + " now has the name " + target.getFullName();
+        String normEmail = normalizeEmail(target.getEmail());
+        other = normEmail.isEmpty() ? null : byEmail.get(normEmail);
+        if (other != null && other != current) return "student " + other.getIdNumber() + " now has the email " + target.getEmail();
+        return null;
+    }
+
+    /** The records other than {@code current} holding {@code target}'s id, name or email, each once. */
+    List<Student> clashes(Student current, Student target) {
+        List<Student> out = new ArrayList<>(3);
+        String normName = normalizeName(target.getFullName());
+        String normEmail = normalizeEmail(target.getEmail());
+        for (Student other : new Student[] { byId.get(target.getIdNumber()),
+                normName.isEmpty() ? null : byName.get(normName),
+                normEmail.isEmpty() ? null : byEmail.get(normEmail) }) {
+            if (other == null || other == current) continue;
+            if (out.stream().noneMatch(o -> o == other)) out.add(other);
+        }
+        return out;
+    }
+
     // Basic validators
     public static List<String> validate(Student s, boolean checkDuplicateId, StudentRepository repo, Integer originalId) {
-        List<String> errors = new ArrayList<>();
-        if (s.getIdNumber() <= 0) errors.add("ID number must be a positive integer");
-        if (s.getAge() < 0 || s.getAge() > 150) errors.add("Age must be between 0 and 150");
-        if (s.getEmail() != null && !s.getEmail().isBlank() && !s.getEmail().matches("^[^@\n\r]+@[^@\n\r]+\\.[^@\n\r]+$")) errors.add("Invalid email format");
-        LocalDate dob = s.getBirthday();
-        if (dob != null && dob.isAfter(LocalDate.now())) errors.add("Birthday cannot be in the future");
-        String fullName = s.getFullName() == null ? "" : s.getFullName().trim();
-        if (!fullName.isEmpty() && fullName.matches(".*\\d.*")) errors.add("Full name cannot contain numbers");
-        if (checkDuplicateId && repo != null) {
-            Optional<Student> existing = repo.findById(s.getIdNumber());
-            if (existing.isPresent() && (originalId == null || existing.get().getIdNumber() != originalId)) {
-                errors.add("ID already exists");
-            }
+        StudentValidator v = repo == null ? STANDALONE_VALIDATOR : repo.validator;
+        return v.validate(s, checkDuplicateId, originalId);
+    }
+
+    public StudentValidator getValidator() { return validator; }
+
+    // Index lookups for the validator; keys must already be normalized
+    Student lookupName(String normName) { return byName.get(normName); }
+
+    Student lookupEmail(String normEmail) { return byEmail.get(normEmail); }
+
+    /**
+     * Students and indexes produced by {@link #readFile()}; first occurrence wins on any duplicate key.
+     */
+    public static final class LoadResult {
+        private final List<Student> students = new ArrayList<>();
+        private final Map<Integer, Student> byId = new HashMap<>();
+        private final Map<String, Student> byName = new HashMap<>();
+        private final Map<String, Student> byEmail = new HashMap<>();
+        private PersistentStudentMap snapshot;
+
+        void accept(Student s) {
+            if (s == null || s.getIdNumber() <= 0) return;
+            String normName = normalizeName(s.getFullName());
+            String normEmail = normalizeEmail(s.getEmail());
+            if (byId.containsKey(s.getIdNumber())) return;
+            if (!normName.isEmpty() && byName.containsKey(normName)) return;
+            if (!normEmail.isEmpty() && byEmail.containsKey(normEmail)) return;
+            byId.put(s.getIdNumber(), s);
+            if (!normName.isEmpty()) byName.put(normName, s);
+            if (!normEmail.isEmpty()) byEmail.put(normEmail, s);
+            students.add(s);
         }
-        // Duplicate full name check (case-insensitive) ignoring the original record if updating
-        if (repo != null && !fullName.isEmpty()) {
-            String norm = fullName.toLowerCase();
-            boolean duplicateName = repo.students.stream()
-                    .anyMatch(other -> other.getIdNumber() != s.getIdNumber() && normalizeName(other.getFullName()).equals(norm));
-            if (duplicateName) errors.add("Full name already exists");
-        }
-        String email = s.getEmail() == null ? "" : s.getEmail().trim();
-        if (repo != null && !email.isEmpty()) {
-            String normE = email.toLowerCase();
-            boolean duplicateEmail = repo.students.stream()
-                    .anyMatch(other -> other.getIdNumber() != s.getIdNumber() && normalizeEmail(other.getEmail()).equals(normE));
-            if (duplicateEmail) errors.add("Email already exists");
-        }
-        return errors;
+
+        public List<Student> getStudents() { return students; }
+
+        public int size() { return students.size(); }
     }
 }
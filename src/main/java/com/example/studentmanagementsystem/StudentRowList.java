@@ -0,0 +1,68 @@
+package com.example.studentmanagementsystem;
+
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import javafx.collections.transformation.TransformationList;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Pass-through view of the repository's list that can also report rows as updated. The roster
+ * list has no extractor (seven property listeners per student would be costly at a million rows),
+ * so in-place edits never reach a {@code FilteredList} or {@code SortedList} on their own; the
+ * table feeds the updated records from the {@link StudentChangeBus} to {@link #refresh} instead.
+ */
+public final class StudentRowList extends TransformationList<Student, Student> {
+    public StudentRowList(ObservableList<Student> source) {
+        super(source);
+    }
+
+    /** Reports the rows holding these records as updated, so filters and sorts re-test them. */
+    public void refresh(List<Student> students) {
+        if (students.isEmpty()) return;
+        Set<Student> wanted = Collections.newSetFromMap(new IdentityHashMap<>());
+        wanted.addAll(students);
+        // One pass over the roster however many records changed
+        beginChange();
+        for (int i = 0, n = size(); i < n && !wanted.isEmpty(); i++) {
+            if (wanted.remove(get(i))) nextUpdate(i);
+        }
+        endChange();
+    }
+
+    @Override
+    protected void sourceChanged(ListChangeListener.Change<? extends Student> c) {
+        beginChange();
+        while (c.next()) {
+            if (c.wasPermutated()) {
+                int[] perm = new int[c.getTo() - c.getFrom()];
+                for (int i = c.getFrom(); i < c.getTo(); i++) perm[i - c.getFrom()] = c.getPermutation(i);
+                nextPermutation(c.getFrom(), c.getTo(), perm);
+            } else if (c.wasUpdated()) {
+                for (int i = c.getFrom(); i < c.getTo(); i++) nextUpdate(i);
+            } else if (c.wasReplaced()) {
+                nextReplace(c.getFrom(), c.getTo(), c.getRemoved());
+            } else if (c.wasRemoved()) {
+                nextRemove(c.getFrom(), c.getRemoved());
+            } else if (c.wasAdded()) {
+                nextAdd(c.getFrom(), c.getTo());
+            }
+        }
+        endChange();
+    }
+
+    @Override
+    public int getSourceIndex(int index) { return index; }
+
+    @Override
+    public int getViewIndex(int index) { return index; }
+
+    @Override
+    public Student get(int index) { return getSource().get(index); }
+
+    @Override
+    public int size() { return getSource().size(); }
+}
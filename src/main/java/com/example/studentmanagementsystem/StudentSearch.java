@@ -0,0 +1,69 @@
+package com.example.studentmanagementsystem;
+
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Predicate;
+
+/**
+ * Search predicates for the student table. Kept separate from the controller so the
+ * same code path can be benchmarked without a running FX toolkit.
+ */
+public final class StudentSearch {
+    private static final DateTimeFormatter DATE_FMT = DateTimeFormatter.ISO_DATE;
+    // Most rows fuzzy mode lets through to the table
+    public static final int FUZZY_LIMIT = 1000;
+
+    private StudentSearch() {}
+
+    /** Case-insensitive substring match against any field; blank query matches everything. */
+    public static Predicate<Student> buildPredicate(String query) {
+        if (query == null || query.isBlank()) return s -> true;
+        String q = query.toLowerCase(Locale.ROOT).trim();
+        // Ids, ages and ISO dates are digits and dashes only; other queries skip formatting them
+        boolean numeric = q.chars().allMatch(c -> (c >= '0' && c <= '9') || c == '-');
+        return s -> {
+            if (s == null) return false;
+            return contains(s.getFullName(), q)
+                    || contains(s.getAddress(), q)
+                    || contains(s.getCourseYear(), q)
+                    || contains(s.getEmail(), q)
+                    || (numeric && (contains(Integer.toString(s.getIdNumber()), q)
+                        || contains(Integer.toString(s.getAge()), q)
+                        || (s.getBirthday() != null && contains(DATE_FMT.format(s.getBirthday()), q))));
+        };
+    }
+
+    /**
+     * Typo-tolerant, ranked matches on names and emails, capped at {@link #FUZZY_LIMIT}.
+     * Returns null when there is no index yet or the query has no letters to match on
+     * (ids, ages, dates); callers fall back to {@link #buildPredicate(String)}.
+     */
+    public static FuzzyStudentIndex.Result fuzzySearch(FuzzyStudentIndex index, String query) {
+        if (index == null || !FuzzyStudentIndex.isSearchable(query)) return null;
+        return index.search(query, FUZZY_LIMIT);
+    }
+
+    /**
+     * The ranked students, best first, looked up by id in {@code students}; ids no longer there
+     * (removed since the index was updated) are skipped. Costs the result size, not the roster's.
+     */
+    public static List<Student> rankedStudents(FuzzyStudentIndex.Result ranked, PersistentStudentMap students) {
+        List<Student> out = new ArrayList<>(ranked.size());
+        for (int i = 0; i < ranked.size(); i++) {
+            Student s = students.get(ranked.getId(i));
+            if (s != null) out.add(s);
+        }
+        return out;
+    }
+
+    // Case-insensitive without a lower-cased copy of every field; q is already lower case
+    private static boolean contains(String value, String q) {
+        if (value == null) return false;
+        for (int i = 0, last = value.length() - q.length(); i <= last; i++) {
+            if (value.regionMatches(true, i, q, 0, q.length())) return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.studentmanagementsystem;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Aggregates for the statistics view, kept up to date from the repository's change bus so a
+ * mutation (including an in-place field edit) costs O(1) instead of a rescan. Views poll {@link #getVersion()} to redraw at most once per frame.
+ */
+public class StudentStatistics {
+    public static final int AGE_BUCKET_WIDTH = 5;
+    public static final int AGE_BUCKETS = 13; // 0-4 ... 55-59, then 60+
+
+    private final Map<String, Integer> perCourse = new HashMap<>();
+    private final Map<String, Integer> perDomain = new HashMap<>();
+    private final int[] ageBuckets = new int[AGE_BUCKETS];
+    private final int[] birthMonths = new int[12];
+    private int total;
+    private long version;
+    private final StudentChangeBus.Subscription subscription;
+
+    private static final Set<StudentChangeBus.Field> TRACKED = EnumSet.of(StudentChangeBus.Field.COURSE_YEAR,
+            StudentChangeBus.Field.EMAIL, StudentChangeBus.Field.AGE, StudentChangeBus.Field.BIRTHDAY);
+
+    public StudentStatistics(StudentRepository repository) {
+        for (Student s : repository.getStudents()) apply(s, 1);
+        subscription = repository.changes().subscribe(StudentChangeBus.Delivery.SYNC, batch -> {
+            for (StudentChangeBus.Change c : batch) {
+                switch (c.getKind()) {
+                    case RESET -> recount(repository.getStudents());
+                    case ADDED -> apply(c.getAfter(), 1);
+                    case REMOVED -> apply(c.getBefore(), -1);
+                    case UPDATED -> {
+                        if (!Collections.disjoint(c.getFields(), TRACKED)) {
+                            apply(c.getBefore(), -1);
+                            apply(c.getAfter(), 1);
+                        }
+                    }
+                }
+            }
+            version++;
+        });
+    }
+
+    /** Stops following the repository. */
+    public void close() {
+        subscription.close();
+    }
+
+    private void recount(List<Student> students) {
+        perCourse.clear();
+        perDomain.clear();
+        Arrays.fill(ageBuckets, 0);
+        Arrays.fill(birthMonths, 0);
+        total = 0;
+        for (Student s : students) apply(s, 1);
+    }
+
+    private void apply(Student s, int delta) {
+        total += delta;
+        bump(perCourse, courseKey(s.getCourseYear()), delta);
+        String domain = domainOf(s.getEmail());
+        if (domain != null) bump(perDomain, domain, delta);
+        ageBuckets[ageBucket(s.getAge())] += delta;
+        LocalDate dob = s.getBirthday();
+        if (dob != null) birthMonths[dob.getMonthValue() - 1] += delta;
+    }
+
+    private static void bump(Map<String, Integer> map, String key, int delta) {
+        // Drop keys that reach zero so top-N never shows emptied groups
+        map.merge(key, delta, (a, b) -> a + b == 0 ? null : a + b);
+    }
+
+    private static String courseKey(String course) {
+        if (course == null || course.isBlank()) return "(none)";
+        return course.trim().toUpperCase(Locale.ROOT);
+    }
+
+    private static String domainOf(String email) {
+        if (email == null) return null;
+        int at = email.lastIndexOf('@');
+        if (at < 0 || at == email.length() - 1) return null;
+        return email.substring(at + 1).trim().toLowerCase(Locale.ROOT);
+    }
+
+    public static int ageBucket(int age) {
+        if (age < 0) return 0;
+        return Math.min(age / AGE_BUCKET_WIDTH, AGE_BUCKETS - 1);
+    }
+
+    public static String ageBucketLabel(int bucket) {
+        int from = bucket * AGE_BUCKET_WIDTH;
+        return bucket == AGE_BUCKETS - 1 ? from + "+" : from + "-" + (from + AGE_BUCKET_WIDTH - 1);
+    }
+
+    public long getVersion() { return version; }
+
+    public int getTotal() { return total; }
+
+    public int getAgeBucketCount(int bucket) { return ageBuckets[bucket]; }
+
+    public int getBirthMonthCount(int month) { return birthMonths[month - 1]; }
+
+    public List<Map.Entry<String, Integer>> topCourses(int n) { return top(perCourse, n); }
+
+    public List<Map.Entry<String, Integer>> topDomains(int n) { return top(perDomain, n); }
+
+    private static List<Map.Entry<String, Integer>> top(Map<String, Integer> map, int n) {
+        List<Map.Entry<String, Integer>> entries = new ArrayList<>(map.entrySet());
+        entries.sort(Map.Entry.<String, Integer>comparingByValue().reversed());
+        return entries.size() > n ? List.copyOf(entries.subList(0, n)) : entries;
+    }
+}
@@ -0,0 +1,160 @@
+package com.example.studentmanagementsystem;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+import java.util.stream.IntStream;
+
+/**
+ * Student validation rules with precompiled patterns and index-backed duplicate checks.
+ * Keeps per-rule counters (how often each rule is evaluated and fires, and the time spent)
+ * so slow or noisy rules can be spotted.
+ */
+public class StudentValidator {
+    private static final Pattern EMAIL = Pattern.compile("^[^@\n\r]+@[^@\n\r]+\\.[^@\n\r]+$");
+    private static final Pattern DIGIT = Pattern.compile("\\d");
+
+    public enum Rule {
+        ID_POSITIVE("ID number must be a positive integer"),
+        AGE_RANGE("Age must be between 0 and 150"),
+        EMAIL_FORMAT("Invalid email format"),
+        BIRTHDAY_NOT_FUTURE("Birthday cannot be in the future"),
+        NAME_NO_DIGITS("Full name cannot contain numbers"),
+        UNIQUE_ID("ID already exists"),
+        UNIQUE_NAME("Full name already exists"),
+        UNIQUE_EMAIL("Email already exists");
+
+        private final String message;
+
+        Rule(String message) { this.message = message; }
+
+        public String getMessage() { return message; }
+    }
+
+    private final StudentRepository repository; // may be null: duplicate rules then only check within a batch
+    private final Map<Rule, LongAdder> evaluated = new EnumMap<>(Rule.class);
+    private final Map<Rule, LongAdder> fired = new EnumMap<>(Rule.class);
+    private final Map<Rule, LongAdder> nanos = new EnumMap<>(Rule.class);
+
+    public StudentValidator(StudentRepository repository) {
+        this.repository = repository;
+        for (Rule r : Rule.values()) {
+            evaluated.put(r, new LongAdder());
+            fired.put(r, new LongAdder());
+            nanos.put(r, new LongAdder());
+        }
+    }
+
+    public List<String> validate(Student s, boolean checkDuplicateId, Integer originalId) {
+        return validate(s, checkDuplicateId, originalId, LocalDate.now(), false, false, false);
+    }
+
+    /**
+     * Validates a batch as new records in parallel. Besides the repository, each record is checked
+     * against the earlier records of the batch, so a repeated id, name or email is reported on
+     * every occurrence after the first. The result list is aligned with the iteration order of
+     * {@code batch}. The repository must not be mutated while this runs, since the indexes are
+     * read from several threads.
+     */
+    public List<List<String>> validateAll(Collection<Student> batch) {
+        LocalDate today = LocalDate.now();
+        List<Student> list = new ArrayList<>(batch);
+        // First position of each key, built up front so the parallel pass only reads
+        Map<Integer, Integer> firstId = new HashMap<>();
+        Map<String, Integer> firstName = new HashMap<>();
+        Map<String, Integer> firstEmail = new HashMap<>();
+        for (int i = 0; i < list.size(); i++) {
+            Student s = list.get(i);
+            firstId.putIfAbsent(s.getIdNumber(), i);
+            String name = key(s.getFullName());
+            if (!name.isEmpty()) firstName.putIfAbsent(name, i);
+            String email = key(s.getEmail());
+            if (!email.isEmpty()) firstEmail.putIfAbsent(email, i);
+        }
+        return IntStream.range(0, list.size()).parallel().mapToObj(i -> {
+            Student s = list.get(i);
+            boolean repeatedId = firstId.get(s.getIdNumber()) != i;
+            boolean repeatedName = firstName.getOrDefault(key(s.getFullName()), i) != i;
+            boolean repeatedEmail = firstEmail.getOrDefault(key(s.getEmail()), i) != i;
+            return validate(s, true, null, today, repeatedId, repeatedName, repeatedEmail);
+        }).toList();
+    }
+
+    private static String key(String value) {
+        return value == null ? "" : value.trim().toLowerCase();
+    }
+
+    private List<String> validate(Student s, boolean checkDuplicateId, Integer originalId, LocalDate today,
+                                  boolean repeatedId, boolean repeatedName, boolean repeatedEmail) {
+        List<String> errors = new ArrayList<>();
+        long t = System.nanoTime();
+        t = record(Rule.ID_POSITIVE, s.getIdNumber() <= 0, errors, t);
+        t = record(Rule.AGE_RANGE, s.getAge() < 0 || s.getAge() > 150, errors, t);
+        String rawEmail = s.getEmail();
+        t = record(Rule.EMAIL_FORMAT, rawEmail != null && !rawEmail.isBlank() && !EMAIL.matcher(rawEmail).matches(), errors, t);
+        LocalDate dob = s.getBirthday();
+        t = record(Rule.BIRTHDAY_NOT_FUTURE, dob != null && dob.isAfter(today), errors, t);
+        String fullName = s.getFullName() == null ? "" : s.getFullName().trim();
+        t = record(Rule.NAME_NO_DIGITS, !fullName.isEmpty() && DIGIT.matcher(fullName).find(), errors, t);
+        String email = rawEmail == null ? "" : rawEmail.trim();
+
+        if (checkDuplicateId && (repository != null || repeatedId)) {
+            Student existing = repository == null ? null : repository.findById(s.getIdNumber()).orElse(null);
+            t = record(Rule.UNIQUE_ID, repeatedId || existing != null && (originalId == null || existing.getIdNumber() != originalId), errors, t);
+        }
+        // Duplicate full name check (case-insensitive) ignoring the record itself when updating
+        if (!fullName.isEmpty() && (repository != null || repeatedName)) {
+            Student other = repository == null ? null : repository.lookupName(fullName.toLowerCase());
+            t = record(Rule.UNIQUE_NAME, repeatedName || other != null && other.getIdNumber() != s.getIdNumber(), errors, t);
+        }
+        if (!email.isEmpty() && (repository != null || repeatedEmail)) {
+            Student other = repository == null ? null : repository.lookupEmail(email.toLowerCase());
+            record(Rule.UNIQUE_EMAIL, repeatedEmail || other != null && other.getIdNumber() != s.getIdNumber(), errors, t);
+        }
+        return errors;
+    }
+
+    private long record(Rule rule, boolean failed, List<String> errors, long startNanos) {
+        long now = System.nanoTime();
+        evaluated.get(rule).increment();
+        nanos.get(rule).add(now - startNanos);
+        if (failed) {
+            fired.get(rule).increment();
+            errors.add(rule.getMessage());
+        }
+        return now;
+    }
+
+    public long getEvaluatedCount(Rule rule) { return evaluated.get(rule).sum(); }
+
+    public long getFiredCount(Rule rule) { return fired.get(rule).sum(); }
+
+    public long getTotalNanos(Rule rule) { return nanos.get(rule).sum(); }
+
+    public void resetStats() {
+        for (Rule r : Rule.values()) {
+            evaluated.get(r).reset();
+            fired.get(r).reset();
+            nanos.get(r).reset();
+        }
+    }
+
+    /** One line per rule: evaluations, hits and mean time per evaluation. */
+    public String statsReport() {
+        StringBuilder sb = new StringBuilder();
+        for (Rule r : Rule.values()) {
+            long n = getEvaluatedCount(r);
+            long avg = n == 0 ? 0 : getTotalNanos(r) / n;
+            sb.append(r.name()).append(": evaluated=").append(n)
+                    .append(" fired=").append(getFiredCount(r))
+                    .append(" avgNanos=").append(avg).append('\n');
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,174 @@
+package com.example.studentmanagementsystem;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Undo/redo for repository edits. A step is found by diffing the {@link PersistentStudentMap}
+ * versions from before and after the edit, which costs the size of the change rather than of
+ * the roster, and keeps detached copies of just the records it touched: students are mutable, so
+ * holding the live objects would let later in-place edits rewrite history. The history is
+ * bounded by an estimate of the bytes those copies retain and drops its oldest steps first.
+ * <p>
+ * Undo restores only the records the step touched, and only where they still hold the values the
+ * step left behind, so changes made since (by the user or synced from another workstation) are
+ * not rolled back with it. If a restored record would clash with another student's id, name or
+ * email, the whole step is refused.
+ */
+public class UndoHistory {
+    public static final long DEFAULT_BUDGET_BYTES = 32L * 1024 * 1024;
+    // Student with seven properties, their listeners' slots and four short strings
+    private static final long STUDENT_BYTES = 480;
+
+    private final StudentRepository repository;
+    private final long budgetBytes;
+    private final Deque<Step> undo = new ArrayDeque<>();
+    private final Deque<Step> redo = new ArrayDeque<>();
+    private long retainedBytes;
+
+    // Copies of one record before and after a step; null where the record did not exist
+    private record Change(Student before, Student after) {}
+
+    private record Step(String label, List<Change> changes, long bytes) {}
+
+    /** What an undo or redo did: records restored, or why the step was refused (null if it was not). */
+    public record Outcome(int restored, String refusal) {}
+
+    public UndoHistory(StudentRepository repository) {
+        this(repository, DEFAULT_BUDGET_BYTES);
+    }
+
+    public UndoHistory(StudentRepository repository, long budgetBytes) {
+        this.repository = repository;
+        this.budgetBytes = budgetBytes;
+    }
+
+    /**
+     * Runs an edit and records it as one undoable step if it changed anything.
+     * Returns the edit's own result.
+     */
+    public boolean record(String label, BooleanSupplier edit) {
+        PersistentStudentMap before = repository.snapshot();
+        boolean ok = edit.getAsBoolean();
+        PersistentStudentMap after = repository.snapshot();
+        if (after != before) {
+            List<Change> changes = new ArrayList<>();
+            long[] bytes = { 0 };
+            before.diff(after, (b, a) -> {
+                Change c = new Change(b == null ? null : b.copy(), a == null ? null : a.copy());
+                bytes[0] += estimateBytes(c.before()) + estimateBytes(c.after());
+                changes.add(c);
+            });
+            if (!changes.isEmpty()) {
+                push(undo, new Step(label, changes, bytes[0]));
+                clear(redo);
+                trim();
+            }
+        }
+        return ok;
+    }
+
+    public boolean canUndo() { return !undo.isEmpty(); }
+
+    public boolean canRedo() { return !redo.isEmpty(); }
+
+    public String undoLabel() { return undo.isEmpty() ? null : undo.peek().label(); }
+
+    public String redoLabel() { return redo.isEmpty() ? null : redo.peek().label(); }
+
+    /** Reverts the latest step; a refused step stays on the undo stack. */
+    public Outcome undo() {
+        Step step = undo.peek();
+        if (step == null) return new Outcome(0, null);
+        Outcome out = apply(step, true);
+        if (out.refusal() == null) push(redo, pop(undo));
+        return out;
+    }
+
+    /** Re-applies the latest undone step; a refused step stays on the redo stack. */
+    public Outcome redo() {
+        Step step = redo.peek();
+        if (step == null) return new Outcome(0, null);
+        Outcome out = apply(step, false);
+        if (out.refusal() == null) push(undo, pop(redo));
+        return out;
+    }
+
+    /** Forgets all steps, e.g. after a full reload replaced the roster. */
+    public void clear() {
+        clear(undo);
+        clear(redo);
+    }
+
+    public int size() { return undo.size() + redo.size(); }
+
+    public long getRetainedBytes() { return retainedBytes; }
+
+    // Moves every record of the step from its "from" values to its "to" values, or none of them
+    private Outcome apply(Step step, boolean backwards) {
+        PersistentStudentMap live = repository.snapshot();
+        List<Student[]> done = new ArrayList<>();
+        // Removals first so restored names/emails/ids never clash with the records they replace
+        for (boolean removals : new boolean[] { true, false }) {
+            for (Change c : step.changes()) {
+                Student from = backwards ? c.after() : c.before();
+                Student to = backwards ? c.before() : c.after();
+                if ((to == null) != removals) continue;
+                Student current = live.get((from != null ? from : to).getIdNumber());
+                if (!sameValues(current, from)) continue; // changed again since this step; leave it alone
+                // A fresh copy, so edits to the restored record do not reach the history
+                Student target = to == null ? null : to.copy();
+                String conflict = repository.restoreConflict(current, target);
+                if (conflict != null) {
+                    rollback(done);
+                    return new Outcome(0, conflict);
+                }
+                if (repository.restore(current, target)) done.add(new Student[] { current, target });
+            }
+        }
+        return new Outcome(done.size(), null);
+    }
+
+    // Puts back the records replaced so far; the state before them was valid, so this cannot clash
+    private void rollback(List<Student[]> done) {
+        for (int i = done.size() - 1; i >= 0; i--) repository.restore(done.get(i)[1], done.get(i)[0]);
+    }
+
+    private static boolean sameValues(Student live, Student copy) {
+        if (live == null || copy == null) return live == copy;
+        return StudentChangeBus.diff(live, copy).isEmpty();
+    }
+
+    private static long estimateBytes(Student s) {
+        if (s == null) return 0;
+        return STUDENT_BYTES + length(s.getFullName()) + length(s.getAddress())
+                + length(s.getCourseYear()) + length(s.getEmail());
+    }
+
+    private static int length(String s) { return s == null ? 0 : s.length(); }
+
+    private void push(Deque<Step> stack, Step step) {
+        stack.push(step);
+        retainedBytes += step.bytes();
+    }
+
+    private Step pop(Deque<Step> stack) {
+        Step step = stack.poll();
+        if (step != null) retainedBytes -= step.bytes();
+        return step;
+    }
+
+    private void clear(Deque<Step> stack) {
+        while (pop(stack) != null) { }
+    }
+
+    // Oldest undo steps go first; redo steps are newer than anything on the undo stack
+    private void trim() {
+        while (retainedBytes > budgetBytes && undo.size() > 1) {
+            retainedBytes -= undo.pollLast().bytes();
+        }
+    }
+}
@@ -2,6 +2,7 @@ module com.example.studentmanagementsystem {
     requires javafx.controls;
     requires javafx.fxml;
     requires javafx.web;
+    requires jdk.jfr;
 
     requires org.controlsfx.controls;
     requires com.dlsc.formsfx;
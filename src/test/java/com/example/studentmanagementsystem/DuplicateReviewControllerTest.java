@@ -0,0 +1,113 @@
+package com.example.studentmanagementsystem;
+
+import javafx.fxml.FXMLLoader;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.control.TableView;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+
+import static com.example.studentmanagementsystem.FxTestSupport.runFx;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The review window deletes from a scan snapshot, so a record edited or replaced since the scan
+ * must not be deleted just because it still has the scanned id.
+ */
+class DuplicateReviewControllerTest {
+    @TempDir
+    Path dir;
+
+    private StudentRepository repository;
+    private Parent root;
+    private Label summary;
+    private TableView<?> pairs;
+
+    private final Student maria = student(1, "Maria Santos", "Davao City", "maria@example.com");
+    private final Student copy = student(2, "Maria Santos II", "Davao City", "maria.santos@example.com");
+
+    @BeforeAll
+    static void startFx() throws Exception {
+        FxTestSupport.startToolkit();
+    }
+
+    private static Student student(int id, String name, String address, String email) {
+        return new Student(id, name, 20, address, "BSIT 2", LocalDate.of(2004, 5, 1), email);
+    }
+
+    @BeforeEach
+    void openReview() throws Exception {
+        repository = new StudentRepository(dir.resolve("students.txt"));
+        runFx(() -> {
+            repository.add(maria);
+            repository.add(copy);
+            NearDuplicateDetector.Scan scan = new NearDuplicateDetector()
+                    .findCandidates(List.copyOf(repository.getStudents()), 0.3, 10);
+            assertEquals(1, scan.getCandidates().size());
+            FXMLLoader loader = new FXMLLoader(SMSApplication.class.getResource("duplicate-review.fxml"));
+            root = loader.load();
+            new Scene(root);
+            DuplicateReviewController ctrl = loader.getController();
+            ctrl.setData(repository, new UndoHistory(repository), scan);
+            summary = (Label) loader.getNamespace().get("summaryLabel");
+            pairs = (TableView<?>) loader.getNamespace().get("pairTable");
+            pairs.getSelectionModel().select(0);
+        });
+    }
+
+    private void press(String text) {
+        root.lookupAll(".button").stream()
+                .map(Button.class::cast)
+                .filter(b -> b.getText().equals(text))
+                .findFirst().orElseThrow()
+                .fire();
+    }
+
+    private int deleted() {
+        NearDuplicateDetector.Candidate c = (NearDuplicateDetector.Candidate) pairs.getItems().get(0);
+        return c.getSecond().getIdNumber();
+    }
+
+    @Test
+    void deletesTheScannedRecord() throws Exception {
+        runFx(() -> {
+            int id = deleted();
+            press("Delete duplicate");
+            assertTrue(repository.findById(id).isEmpty());
+            assertTrue(pairs.getItems().isEmpty());
+        });
+    }
+
+    @Test
+    void refusesWhenTheRecordChangedSinceTheScan() throws Exception {
+        runFx(() -> {
+            int id = deleted();
+            Student edited = student(id, "Pedro Garcia", "Tagum City", "pedro@example.com");
+            assertTrue(repository.update(id, edited));
+            press("Delete duplicate");
+            assertSame(edited, repository.findById(id).orElseThrow());
+            assertEquals(1, pairs.getItems().size());
+            assertTrue(summary.getText().contains("changed since the scan"), summary.getText());
+        });
+    }
+
+    @Test
+    void deletesAnUnchangedReplacement() throws Exception {
+        runFx(() -> {
+            int id = deleted();
+            // Same values in a new object, e.g. after a reload
+            Student same = repository.findById(id).orElseThrow().copy();
+            assertTrue(repository.update(id, same));
+            press("Delete duplicate");
+            assertTrue(repository.findById(id).isEmpty());
+        });
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.studentmanagementsystem;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Ranking with early stopping must agree with ranking every match: the top k scores are the
+ * first k of the full result, and a typo or transposition still finds the name.
+ */
+class FuzzyStudentIndexTest {
+    private static final String[] FIRST = { "Alexandra", "Maria", "Mariano", "Juan", "Angela" };
+    private static final String[] LAST = { "Mendoza", "Mendez", "Garcia", "Santos", "Dela Cruz" };
+
+    private static FuzzyStudentIndex index() {
+        List<Student> students = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            String name = FIRST[i % FIRST.length] + " " + LAST[(i / FIRST.length) % LAST.length] + " " + suffix(i);
+            students.add(new Student(1000 + i, name, 20, "Davao City", "BSIT 2", LocalDate.of(2004, 5, 1),
+                    "student" + i + "@" + LAST[i % LAST.length].toLowerCase().replace(' ', '-') + ".edu"));
+        }
+        return FuzzyStudentIndex.build(PersistentStudentMap.of(students));
+    }
+
+    // Letters only, like generated rosters: many short distinct terms
+    private static String suffix(int i) {
+        StringBuilder sb = new StringBuilder();
+        do {
+            sb.append((char) ('a' + i % 26));
+            i /= 26;
+        } while (i > 0);
+        return sb.toString();
+    }
+
+    @Test
+    void topKAgreesWithFullRanking() {
+        FuzzyStudentIndex index = index();
+        for (String q : List.of("mendoza", "alexandra mendosa", "garcai", "ma", "maria garcia edu", "mariano mendez")) {
+            FuzzyStudentIndex.Result all = index.search(q, 100_000);
+            for (int k : new int[] { 1, 10, 150 }) {
+                FuzzyStudentIndex.Result top = index.search(q, k);
+                assertEquals(Math.min(k, all.size()), top.size(), q);
+                for (int i = 0; i < top.size(); i++) assertEquals(all.getScore(i), top.getScore(i), q + " #" + i);
+            }
+        }
+    }
+
+    @Test
+    void typosStillMatch() {
+        FuzzyStudentIndex index = index();
+        FuzzyStudentIndex.Result r = index.search("garcai santso", 5);
+        assertEquals(5, r.size());
+        assertEquals(0, index.search("garcia zzzzzz", 5).size());
+    }
+}
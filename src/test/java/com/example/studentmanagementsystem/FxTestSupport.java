@@ -0,0 +1,47 @@
+package com.example.studentmanagementsystem;
+
+import javafx.application.Platform;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+
+/** Starts the FX toolkit once per test JVM and runs test code on the FX thread. */
+final class FxTestSupport {
+    private static boolean started;
+
+    private FxTestSupport() {}
+
+    static synchronized void startToolkit() throws InterruptedException {
+        if (started) return;
+        CountDownLatch latch = new CountDownLatch(1);
+        Platform.startup(latch::countDown);
+        Platform.setImplicitExit(false);
+        latch.await(10, TimeUnit.SECONDS);
+        started = true;
+    }
+
+    static <T> T onFx(Callable<T> c) throws Exception {
+        FutureTask<T> task = new FutureTask<>(c);
+        Platform.runLater(task);
+        try {
+            return task.get(10, TimeUnit.SECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception ex) throw ex;
+            throw e;
+        }
+    }
+
+    static void runFx(ThrowingRunnable r) throws Exception {
+        onFx(() -> {
+            r.run();
+            return null;
+        });
+    }
+
+    interface ThrowingRunnable {
+        void run() throws Exception;
+    }
+}
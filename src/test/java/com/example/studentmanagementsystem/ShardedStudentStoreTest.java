@@ -0,0 +1,69 @@
+package com.example.studentmanagementsystem;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** Importing a single-file roster into shards, and saves that replace shard files whole. */
+class ShardedStudentStoreTest {
+    @TempDir
+    Path dir;
+
+    private static Student student(int id, String name, String course) {
+        return new Student(id, name, 20, "Davao City", course, LocalDate.of(2004, 5, 1),
+                name.toLowerCase().replace(' ', '.') + "@example.com");
+    }
+
+    private List<String> files(Path shards) throws IOException {
+        try (Stream<Path> s = Files.list(shards)) {
+            return s.map(p -> p.getFileName().toString()).sorted().toList();
+        }
+    }
+
+    @Test
+    void importsAnExistingRoster() throws Exception {
+        StudentRepository single = new StudentRepository(dir.resolve("students.txt"));
+        single.add(student(1, "Maria Santos", "BSIT 2"));
+        single.add(student(2, "Juan Reyes", "BSCS 3"));
+        single.add(student(3, "Jose Garcia", "BSIT 2"));
+        single.save();
+
+        Path shards = dir.resolve("students.d");
+        assertEquals(3, StudentRepository.importShardedLayout(dir.resolve("students.txt"), shards, true, 10_000, false));
+        assertEquals(List.of("course-bscs-3.txt", "course-bsit-2.txt", ShardedStudentStore.MANIFEST), files(shards));
+        assertThrows(IOException.class, () -> StudentRepository.importShardedLayout(dir.resolve("students.txt"), shards, true, 10_000, false));
+
+        StudentRepository sharded = new StudentRepository(shards);
+        sharded.load();
+        // Loaded in manifest order, shard by shard
+        assertEquals(List.of(2, 1, 3), sharded.getStudents().stream().map(Student::getIdNumber).toList());
+    }
+
+    @Test
+    void saveReplacesShardsWholeAndDropsEmptiedOnes() throws Exception {
+        Path shards = dir.resolve("students.d");
+        StudentRepository.createShardedLayout(shards, true, 10_000, false,
+                List.of(student(1, "Maria Santos", "BSIT 2"), student(2, "Juan Reyes", "BSCS 3")));
+        StudentRepository repo = new StudentRepository(shards);
+        repo.load();
+
+        Student moved = student(2, "Juan Reyes", "BSIT 2");
+        assertTrue(repo.update(2, moved));
+        repo.save();
+
+        // No temporary files left behind, and the emptied shard is gone
+        assertEquals(List.of("course-bsit-2.txt", ShardedStudentStore.MANIFEST), files(shards));
+        StudentRepository reread = new StudentRepository(shards);
+        reread.load();
+        assertEquals(2, reread.getStudents().size());
+        assertEquals("BSIT 2", reread.findById(2).orElseThrow().getCourseYear());
+    }
+}
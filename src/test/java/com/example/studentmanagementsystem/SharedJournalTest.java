@@ -0,0 +1,135 @@
+package com.example.studentmanagementsystem;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.example.studentmanagementsystem.FxTestSupport.onFx;
+import static com.example.studentmanagementsystem.FxTestSupport.runFx;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Two instances sharing one data file. A peer's published entry wins over a clashing local add
+ * that was not published yet, and the snapshot written afterwards keeps the peer's record.
+ */
+class SharedJournalTest {
+    @TempDir
+    Path dir;
+
+    private Path file;
+    private StudentRepository first, second;
+    private SharedJournal firstJournal, secondJournal;
+    private final List<String> secondConflicts = new ArrayList<>();
+
+    @BeforeAll
+    static void startFx() throws Exception {
+        FxTestSupport.startToolkit();
+    }
+
+    @BeforeEach
+    void attachBoth() throws Exception {
+        file = dir.resolve("students.txt");
+        first = new StudentRepository(file);
+        second = new StudentRepository(file);
+        runFx(() -> {
+            first.load();
+            second.load();
+            firstJournal = SharedJournal.attach(first);
+            secondJournal = SharedJournal.attach(second);
+            secondJournal.setConflictHandler(secondConflicts::add);
+        });
+    }
+
+    private static Student student(int id, String name, String email) {
+        return new Student(id, name, 20, "Davao City", "BSIT 2", LocalDate.of(2004, 5, 1), email);
+    }
+
+    // The first instance publishes 'peer' while the second still holds 'local' unpublished
+    private void clash(Student peer, Student local) throws Exception {
+        runFx(() -> {
+            assertTrue(first.add(peer));
+            firstJournal.checkpoint();
+            assertTrue(second.add(local));
+            secondJournal.checkpoint();
+        });
+    }
+
+    private List<Student> reread() throws IOException {
+        StudentRepository fresh = new StudentRepository(file);
+        fresh.load();
+        return List.copyOf(fresh.getStudents());
+    }
+
+    private void assertOnlyPeerKept(Student peer) throws Exception {
+        assertEquals(List.of(peer.toCsv()), onFx(() -> second.getStudents().stream().map(Student::toCsv).toList()));
+        assertEquals(List.of(peer.toCsv()), reread().stream().map(Student::toCsv).toList());
+        assertEquals(1, secondConflicts.size(), secondConflicts.toString());
+    }
+
+    @Test
+    void peerAddWinsNameClash() throws Exception {
+        Student peer = student(6, "Maria Santos", "maria.santos@example.com");
+        clash(peer, student(5, "Maria Santos", "msantos@example.com"));
+        assertOnlyPeerKept(peer);
+    }
+
+    @Test
+    void peerAddWinsEmailClash() throws Exception {
+        Student peer = student(6, "Maria Santos", "maria@example.com");
+        clash(peer, student(5, "Maria Reyes", "maria@example.com"));
+        assertOnlyPeerKept(peer);
+    }
+
+    @Test
+    void peerAddWinsIdClash() throws Exception {
+        Student peer = student(5, "Pedro Garcia", "pedro@example.com");
+        clash(peer, student(5, "Maria Santos", "maria@example.com"));
+        assertOnlyPeerKept(peer);
+    }
+
+    @Test
+    void peerEditWinsOverLocalAddTakingTheNewName() throws Exception {
+        Student juan = student(1, "Juan Reyes", "juan@example.com");
+        runFx(() -> {
+            assertTrue(first.add(juan));
+            firstJournal.checkpoint();
+            secondJournal.poll();
+            Student renamed = student(1, "Juan Santos", "juan@example.com");
+            assertTrue(first.update(1, renamed));
+            firstJournal.checkpoint();
+            assertTrue(second.add(student(2, "Juan Santos", "jsantos@example.com")));
+            secondJournal.checkpoint();
+        });
+        assertEquals(List.of("Juan Santos"), reread().stream().map(Student::getFullName).toList());
+        assertEquals(1, secondConflicts.size(), secondConflicts.toString());
+    }
+
+    @Test
+    void refusesToCheckpointWithAnUnappliedEntry() throws Exception {
+        Student maria = student(5, "Maria Santos", "maria@example.com");
+        runFx(() -> {
+            assertTrue(second.add(maria));
+            secondJournal.checkpoint();
+        });
+        // A published entry that clashes with a published record: nothing local to roll back
+        Files.writeString(dir.resolve("students.txt.journal"),
+                "peer|ADD|6|1|" + student(6, "Maria Santos", "other@example.com").toCsv() + "\n",
+                StandardOpenOption.APPEND);
+        String snapshot = Files.readString(file);
+        runFx(() -> {
+            secondJournal.poll();
+            assertThrows(IOException.class, secondJournal::checkpoint);
+        });
+        assertEquals(snapshot, Files.readString(file));
+        assertEquals(1, secondConflicts.size(), secondConflicts.toString());
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.studentmanagementsystem;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Coalescing of one publish into a subscriber's batch; SYNC delivery hands the merged batch over
+ * straight away, so no FX toolkit is needed.
+ */
+class StudentChangeBusTest {
+    private StudentChangeBus bus;
+    private final List<List<StudentChangeBus.Change>> batches = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        bus = new StudentChangeBus();
+        bus.subscribe(StudentChangeBus.Delivery.SYNC, batches::add);
+    }
+
+    private static Student student(int id, String name) {
+        return new Student(id, name, 20, "Davao City", "BSIT 2", LocalDate.of(2004, 5, 1),
+                name.toLowerCase().replace(' ', '.') + "@example.com");
+    }
+
+    private StudentChangeBus.Change only() {
+        assertEquals(1, batches.size());
+        assertEquals(1, batches.get(0).size());
+        return batches.get(0).get(0);
+    }
+
+    @Test
+    void addedThenRemovedVanishes() {
+        Student s = student(1, "Maria Santos");
+        bus.publish(List.of(bus.added(s), bus.removed(s)));
+        assertTrue(batches.isEmpty());
+    }
+
+    @Test
+    void removedThenAddedBecomesUpdated() {
+        Student old = student(1, "Maria Santos");
+        Student replacement = student(1, "Maria Reyes");
+        replacement.setEmail(old.getEmail());
+        bus.publish(List.of(bus.removed(old), bus.added(replacement)));
+
+        StudentChangeBus.Change c = only();
+        assertEquals(StudentChangeBus.Kind.UPDATED, c.getKind());
+        assertSame(old, c.getBefore());
+        assertSame(replacement, c.getAfter());
+        assertEquals(Set.of(StudentChangeBus.Field.FULL_NAME), c.getFields());
+    }
+
+    @Test
+    void updatesFollowTheRecordAcrossIdChanges() {
+        Student v1 = student(1, "Maria Santos");
+        Student v2 = v1.copyWith(StudentChangeBus.Field.ID, 2);
+        Student v3 = v2.copyWith(StudentChangeBus.Field.FULL_NAME, "Maria Reyes");
+        // The second update is keyed by the new id 2, the record's id after the first
+        bus.publish(List.of(
+                bus.updated(v1, v2, Set.of(StudentChangeBus.Field.ID)),
+                bus.updated(v2, v3, Set.of(StudentChangeBus.Field.FULL_NAME))));
+
+        StudentChangeBus.Change c = only();
+        assertEquals(StudentChangeBus.Kind.UPDATED, c.getKind());
+        assertSame(v1, c.getBefore());
+        assertSame(v3, c.getAfter());
+        assertEquals(Set.of(StudentChangeBus.Field.ID, StudentChangeBus.Field.FULL_NAME), c.getFields());
+    }
+
+    @Test
+    void removalAfterAnIdChangeReportsTheOriginalRecord() {
+        Student v1 = student(1, "Maria Santos");
+        Student v2 = v1.copyWith(StudentChangeBus.Field.ID, 2);
+        bus.publish(List.of(bus.updated(v1, v2, Set.of(StudentChangeBus.Field.ID)), bus.removed(v2)));
+
+        StudentChangeBus.Change c = only();
+        assertEquals(StudentChangeBus.Kind.REMOVED, c.getKind());
+        assertSame(v1, c.getBefore());
+        assertNull(c.getAfter());
+    }
+
+    @Test
+    void resetSupersedesEarlierChanges() {
+        Student a = student(1, "Maria Santos");
+        Student b = student(2, "Juan Reyes");
+        Student c = student(3, "Jose Garcia");
+        bus.publish(List.of(bus.added(a), bus.updated(b, b.copyWith(StudentChangeBus.Field.AGE, 21),
+                Set.of(StudentChangeBus.Field.AGE)), bus.reset(), bus.added(c)));
+
+        assertEquals(1, batches.size());
+        List<StudentChangeBus.Change> batch = batches.get(0);
+        assertEquals(2, batch.size());
+        assertEquals(StudentChangeBus.Kind.RESET, batch.get(0).getKind());
+        assertEquals(StudentChangeBus.Kind.ADDED, batch.get(1).getKind());
+        assertSame(c, batch.get(1).getAfter());
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.studentmanagementsystem;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.time.LocalDate;
+
+import static com.example.studentmanagementsystem.FxTestSupport.runFx;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Scrolling repaints the same rows over and over; once a row's text is cached, painting it again
+ * must not allocate. Measured with the per-thread allocation counter of the FX thread.
+ */
+class StudentDisplayCacheTest {
+    private static final int ROWS = 2000;
+    private static final int VISIBLE = 40;
+    // values() clones its array on every call
+    private static final StudentChangeBus.Field[] FIELDS = StudentChangeBus.Field.values();
+
+    @TempDir
+    Path dir;
+
+    @BeforeAll
+    static void startFx() throws Exception {
+        FxTestSupport.startToolkit();
+    }
+
+    private static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean()).getCurrentThreadAllocatedBytes();
+    }
+
+    // One screen of rows starting at 'top', every column, as a scroll step would paint them
+    private static int paint(StudentDisplayCache cache, StudentRepository repo, int top) {
+        int chars = 0;
+        for (int i = top; i < top + VISIBLE; i++) {
+            Student s = repo.getStudents().get(i % ROWS);
+            for (StudentChangeBus.Field f : FIELDS) chars += cache.text(s, f).length();
+        }
+        return chars;
+    }
+
+    @Test
+    void repaintingCachedRowsDoesNotAllocate() throws Exception {
+        StudentRepository repo = new StudentRepository(dir.resolve("students.txt"));
+        runFx(() -> {
+            for (int i = 1; i <= ROWS; i++) {
+                repo.add(new Student(i, "Student " + (char) ('a' + i % 26) + i, 18 + i % 10, "Davao City", "BSIT 2",
+                        LocalDate.of(2004, 1, 1).plusDays(i), "student" + i + "@example.com"));
+            }
+            try (StudentDisplayCache cache = new StudentDisplayCache(repo)) {
+                long before = allocatedBytes();
+                for (int top = 0; top < ROWS; top += VISIBLE) paint(cache, repo, top);
+                long firstPass = allocatedBytes() - before;
+                assertTrue(firstPass > ROWS * 3 * 16L, "first pass formats every row: " + firstPass + " bytes");
+
+                // Warm up the same path so class loading and interpreter effects are out of the way
+                for (int round = 0; round < 5; round++) {
+                    for (int top = 0; top < ROWS; top += VISIBLE) paint(cache, repo, top);
+                }
+                int rounds = 20;
+                int calls = rounds * ROWS * FIELDS.length;
+                before = allocatedBytes();
+                long chars = 0;
+                for (int round = 0; round < rounds; round++) {
+                    for (int top = 0; top < ROWS; top += VISIBLE) chars += paint(cache, repo, top);
+                }
+                long repaint = allocatedBytes() - before;
+                assertTrue(chars > 0);
+                // The counter itself allocates a little; anything per call would be hundreds of KB
+                assertTrue(repaint < 16 * 1024, repaint + " bytes over " + calls + " cached cell texts");
+            }
+        });
+    }
+
+    @Test
+    void inPlaceEditIsReformatted() throws Exception {
+        StudentRepository repo = new StudentRepository(dir.resolve("students.txt"));
+        runFx(() -> {
+            Student s = new Student(7, "Maria Santos", 20, "Davao City", "BSIT 2", LocalDate.of(2004, 5, 1), "maria@example.com");
+            repo.add(s);
+            try (StudentDisplayCache cache = new StudentDisplayCache(repo)) {
+                String age = cache.text(s, StudentChangeBus.Field.AGE);
+                assertSame(age, cache.text(s, StudentChangeBus.Field.AGE));
+                s.setAge(21);
+                assertEquals("21", cache.text(s, StudentChangeBus.Field.AGE));
+                assertEquals("2004-05-01", cache.text(s, StudentChangeBus.Field.BIRTHDAY));
+            }
+        });
+    }
+}
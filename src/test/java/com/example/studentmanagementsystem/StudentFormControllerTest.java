@@ -0,0 +1,127 @@
+package com.example.studentmanagementsystem;
+
+import javafx.fxml.FXMLLoader;
+import javafx.scene.Scene;
+import javafx.scene.control.Button;
+import javafx.scene.control.DatePicker;
+import javafx.scene.control.Label;
+import javafx.scene.control.TextField;
+import javafx.stage.Stage;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Map;
+
+import static com.example.studentmanagementsystem.FxTestSupport.runFx;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The student dialog is loaded once and reused for every add/edit, so each setData must
+ * leave nothing behind from the previous use.
+ */
+class StudentFormControllerTest {
+    @TempDir
+    Path dir;
+
+    private StudentRepository repository;
+    private StudentFormController form;
+    private Map<String, Object> ns;
+    private Stage stage;
+
+    private final Student existing = new Student(1001, "Juan Dela Cruz", 20, "Samal", "BSIT 2",
+            LocalDate.of(2004, 5, 6), "juan@example.edu");
+
+    @BeforeAll
+    static void startFx() throws Exception {
+        FxTestSupport.startToolkit();
+    }
+
+    @BeforeEach
+    void loadForm() throws Exception {
+        repository = new StudentRepository(dir.resolve("students.txt"));
+        runFx(() -> {
+            repository.add(existing);
+            FXMLLoader loader = new FXMLLoader(SMSApplication.class.getResource("student-form.fxml"));
+            Scene scene = new Scene(loader.load());
+            form = loader.getController();
+            ns = loader.getNamespace();
+            stage = new Stage();
+            stage.setScene(scene);
+        });
+    }
+
+    @Test
+    void addAfterEditStartsBlank() throws Exception {
+        runFx(() -> {
+            form.setData(repository, existing, true);
+            // User changes a few fields and types an unparsable date, then cancels
+            text("fullNameField").setText("Half Edited");
+            picker().getEditor().setText("not a date");
+            button("cancelButton").fire();
+
+            form.setData(repository, null, false);
+
+            for (String id : new String[] { "idField", "fullNameField", "ageField", "addressField", "courseField", "emailField" }) {
+                assertEquals("", text(id).getText(), id);
+            }
+            assertNull(picker().getValue());
+            assertEquals("", picker().getEditor().getText());
+            assertEquals("", label("errorLabel").getText());
+            assertEquals("Add Student", label("titleLabel").getText());
+            assertNull(form.getResult());
+        });
+    }
+
+    @Test
+    void editAfterAddShowsTheRecordAndNoOldResult() throws Exception {
+        runFx(() -> {
+            form.setData(repository, null, false);
+            text("idField").setText("1002");
+            text("fullNameField").setText("Maria Santos");
+            text("ageField").setText("21");
+            text("emailField").setText("maria@example.edu");
+            button("okButton").fire();
+            assertNotNull(form.getResult(), "add should have produced a result");
+            assertEquals(1002, form.getResult().getIdNumber());
+
+            form.setData(repository, existing, true);
+
+            assertNull(form.getResult(), "result of the previous add must not leak into the edit");
+            assertEquals("1001", text("idField").getText());
+            assertEquals("Juan Dela Cruz", text("fullNameField").getText());
+            assertEquals("20", text("ageField").getText());
+            assertEquals("Samal", text("addressField").getText());
+            assertEquals("BSIT 2", text("courseField").getText());
+            assertEquals("juan@example.edu", text("emailField").getText());
+            assertEquals(LocalDate.of(2004, 5, 6), picker().getValue());
+            assertEquals("2004-05-06", picker().getEditor().getText());
+            assertEquals("Edit Student", label("titleLabel").getText());
+        });
+    }
+
+    @Test
+    void failedAddDoesNotLeaveErrorsForTheNextEdit() throws Exception {
+        runFx(() -> {
+            form.setData(repository, null, false);
+            text("idField").setText("1001"); // duplicate id
+            button("okButton").fire();
+            assertFalse(label("errorLabel").getText().isEmpty());
+            assertNull(form.getResult());
+
+            form.setData(repository, existing, true);
+            assertEquals("", label("errorLabel").getText());
+        });
+    }
+
+    private TextField text(String id) { return (TextField) ns.get(id); }
+
+    private Label label(String id) { return (Label) ns.get(id); }
+
+    private Button button(String id) { return (Button) ns.get(id); }
+
+    private DatePicker picker() { return (DatePicker) ns.get("birthdayPicker"); }
+}
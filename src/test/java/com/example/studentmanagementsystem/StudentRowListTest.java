@@ -0,0 +1,50 @@
+package com.example.studentmanagementsystem;
+
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.collections.transformation.FilteredList;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StudentRowListTest {
+    private static Student student(int id, String name) {
+        return new Student(id, name, 20, "Davao City", "BSIT 2", LocalDate.of(2004, 5, 1), id + "@example.com");
+    }
+
+    @Test
+    void refreshedInPlaceEditIsFilteredAgain() {
+        Student maria = student(1, "Maria Reyes");
+        Student juan = student(2, "Juan Santos");
+        ObservableList<Student> source = FXCollections.observableArrayList(maria, juan);
+        StudentRowList rows = new StudentRowList(source);
+        FilteredList<Student> filtered = new FilteredList<>(rows, StudentSearch.buildPredicate("santos"));
+        assertEquals(List.of(juan), filtered);
+
+        maria.setFullName("Maria Santos");
+        assertEquals(List.of(juan), filtered); // no extractor: the edit alone is not seen
+        rows.refresh(List.of(maria));
+        assertEquals(List.of(maria, juan), filtered);
+
+        juan.setFullName("Juan Reyes");
+        rows.refresh(List.of(juan));
+        assertEquals(List.of(maria), filtered);
+    }
+
+    @Test
+    void passesStructuralChangesThrough() {
+        Student maria = student(1, "Maria Santos");
+        ObservableList<Student> source = FXCollections.observableArrayList(maria);
+        FilteredList<Student> filtered = new FilteredList<>(new StudentRowList(source), s -> true);
+
+        Student juan = student(2, "Juan Santos");
+        source.add(juan);
+        source.set(0, student(3, "Jose Santos"));
+        source.remove(juan);
+        assertEquals(1, filtered.size());
+        assertEquals(3, filtered.get(0).getIdNumber());
+    }
+}
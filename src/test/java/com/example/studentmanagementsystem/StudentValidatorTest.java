@@ -0,0 +1,57 @@
+package com.example.studentmanagementsystem;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** Batch validation checks each record against the repository and against the rest of the batch. */
+class StudentValidatorTest {
+    @TempDir
+    Path dir;
+
+    private static Student student(int id, String name, String email) {
+        return new Student(id, name, 20, "Davao City", "BSIT 2", LocalDate.of(2004, 5, 1), email);
+    }
+
+    private static final String ID = StudentValidator.Rule.UNIQUE_ID.getMessage();
+    private static final String NAME = StudentValidator.Rule.UNIQUE_NAME.getMessage();
+    private static final String EMAIL = StudentValidator.Rule.UNIQUE_EMAIL.getMessage();
+
+    @Test
+    void reportsRepeatsWithinTheBatchAfterTheFirst() {
+        List<List<String>> errors = new StudentValidator(null).validateAll(List.of(
+                student(1, "Maria Santos", "maria@example.com"),
+                student(1, "Juan Reyes", "juan@example.com"),
+                student(2, "maria santos", "msantos@example.com"),
+                student(3, "Pedro Garcia", " MARIA@example.com "),
+                student(4, "Ana Cruz", "")));
+        assertEquals(List.of(List.of(), List.of(ID), List.of(NAME), List.of(EMAIL), List.of()), errors);
+    }
+
+    @Test
+    void checksTheRepositoryToo() {
+        StudentRepository repo = new StudentRepository(dir.resolve("students.txt"));
+        assertTrue(repo.add(student(1, "Maria Santos", "maria@example.com")));
+        List<List<String>> errors = repo.getValidator().validateAll(List.of(
+                student(1, "Juan Reyes", "juan@example.com"),
+                student(2, "Maria Santos", "msantos@example.com"),
+                student(3, "Pedro Garcia", "pedro@example")));
+        assertEquals(List.of(List.of(ID), List.of(NAME), List.of(StudentValidator.Rule.EMAIL_FORMAT.getMessage())), errors);
+    }
+
+    @Test
+    void shardedLayoutRefusesARosterWithRepeats() {
+        Path shards = dir.resolve("students.d");
+        IOException e = assertThrows(IOException.class, () -> StudentRepository.createShardedLayout(shards, true, 10_000, false,
+                List.of(student(1, "Maria Santos", "maria@example.com"), student(2, "Juan Reyes", "maria@example.com"))));
+        assertTrue(e.getMessage().startsWith("Student 2"), e.getMessage());
+        assertFalse(Files.exists(shards));
+    }
+}